@@ -1,14 +1,13 @@
 import React, { useState } from 'react';
 import { Search, Calendar, User, DollarSign, Filter } from 'lucide-react';
 import { useCustomers } from '../../hooks/useCustomers';
-import { useBills } from '../../hooks/useBills';
+import apiService from '../../services/api';
 import { PAYMENT_STATUS } from '../../utils/constants';
 import { formatCurrency, formatDate } from '../../utils/helpers';
 import LoadingSpinner from '../common/LoadingSpinner';
 
 const BillSearch = ({ onClose }) => {
   const { customers } = useCustomers();
-  const { getBillsByDateRange, fetchBillsByCustomer } = useBills();
   
   const [searchCriteria, setSearchCriteria] = useState({
     billNumber: '',
@@ -21,6 +20,8 @@ const BillSearch = ({ onClose }) => {
   });
   
   const [searchResults, setSearchResults] = useState([]);
+  const [totals, setTotals] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(false);
   const [hasSearched, setHasSearched] = useState(false);
 
@@ -38,46 +39,30 @@ const BillSearch = ({ onClose }) => {
     setHasSearched(true);
 
     try {
-      let results = [];
-
-      // Search by customer
-      if (searchCriteria.customerId) {
-        results = await fetchBillsByCustomer(searchCriteria.customerId);
-      } else if (searchCriteria.startDate && searchCriteria.endDate) {
-        // Search by date range
-        results = getBillsByDateRange(searchCriteria.startDate, searchCriteria.endDate);
-      } else {
-        // Get all bills and filter
-        results = bills; // This should come from a hook or prop
-      }
-
-      // Apply additional filters
-      results = results.filter(bill => {
-        let matches = true;
-
-        if (searchCriteria.billNumber) {
-          matches = matches && bill.billNumber.toLowerCase().includes(searchCriteria.billNumber.toLowerCase());
-        }
-
-        if (searchCriteria.paymentStatus) {
-          matches = matches && bill.paymentStatus === searchCriteria.paymentStatus;
-        }
-
-        if (searchCriteria.minAmount) {
-          matches = matches && bill.totalAmount >= parseFloat(searchCriteria.minAmount);
-        }
-
-        if (searchCriteria.maxAmount) {
-          matches = matches && bill.totalAmount <= parseFloat(searchCriteria.maxAmount);
-        }
-
-        return matches;
-      });
-
-      setSearchResults(results);
+      // Filtering and totals happen on the server; only the first page of matches is transferred
+      const result = await apiService.searchBills(toQuery(searchCriteria));
+      setSearchResults(result.items);
+      setTotals(result.totals);
+      setNextCursor(result.nextCursor);
     } catch (error) {
       console.error('Search error:', error);
       setSearchResults([]);
+      setTotals(null);
+      setNextCursor(null);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoading(true);
+    try {
+      const result = await apiService.searchBills({ ...toQuery(searchCriteria), cursor: nextCursor });
+      setSearchResults(prev => [...prev, ...result.items]);
+      setNextCursor(result.nextCursor);
+    } catch (error) {
+      console.error('Search error:', error);
     } finally {
       setLoading(false);
     }
@@ -94,6 +79,8 @@ const BillSearch = ({ onClose }) => {
       paymentStatus: '',
     });
     setSearchResults([]);
+    setTotals(null);
+    setNextCursor(null);
     setHasSearched(false);
   };
 
@@ -273,7 +260,7 @@ const BillSearch = ({ onClose }) => {
           <div className="flex items-center justify-between">
             <h3 className="text-white font-medium">Search Results</h3>
             <span className="text-gray-300 text-sm">
-              {searchResults.length} bill(s) found
+              {totals ? totals.billCount : searchResults.length} bill(s) found
             </span>
           </div>
 
@@ -331,28 +318,35 @@ const BillSearch = ({ onClose }) => {
                   ))}
                 </tbody>
               </table>
+              {nextCursor && (
+                <div className="p-3 text-center">
+                  <button type="button" onClick={loadMore} className="btn-secondary" disabled={loading}>
+                    Load more
+                  </button>
+                </div>
+              )}
             </div>
           )}
 
           {/* Search Summary */}
-          {searchResults.length > 0 && (
+          {totals && totals.billCount > 0 && (
             <div className="p-4 bg-white bg-opacity-5 rounded-lg">
               <h4 className="text-white font-medium mb-2">Search Summary</h4>
               <div className="grid grid-cols-1 md:grid-cols-3 gap-4 text-sm">
                 <div>
                   <span className="text-gray-400">Total Bills:</span>
-                  <span className="text-white ml-2 font-medium">{searchResults.length}</span>
+                  <span className="text-white ml-2 font-medium">{totals.billCount}</span>
                 </div>
                 <div>
                   <span className="text-gray-400">Total Amount:</span>
                   <span className="text-white ml-2 font-medium">
-                    {formatCurrency(searchResults.reduce((sum, bill) => sum + bill.totalAmount, 0))}
+                    {formatCurrency(totals.totalAmount)}
                   </span>
                 </div>
                 <div>
                   <span className="text-gray-400">Avg Amount:</span>
                   <span className="text-white ml-2 font-medium">
-                    {formatCurrency(searchResults.reduce((sum, bill) => sum + bill.totalAmount, 0) / searchResults.length)}
+                    {formatCurrency(totals.totalAmount / totals.billCount)}
                   </span>
                 </div>
               </div>
@@ -364,4 +358,15 @@ const BillSearch = ({ onClose }) => {
   );
 };
 
+// Maps the form fields onto the GET /api/bills/search query parameters
+const toQuery = (criteria) => ({
+  billNumber: criteria.billNumber.trim(),
+  customerId: criteria.customerId,
+  from: criteria.startDate,
+  to: criteria.endDate,
+  minAmount: criteria.minAmount,
+  maxAmount: criteria.maxAmount,
+  status: criteria.paymentStatus,
+});
+
 export default BillSearch;
\ No newline at end of file
@@ -14,6 +14,7 @@ import BillSearch from './BillSearch';
 const BillingManagement = () => {
   const { 
     bills, 
+    matchCount,
     loading, 
     searchTerm, 
     setSearchTerm,
@@ -21,7 +22,9 @@ const BillingManagement = () => {
     setStatusFilter,
     createBill,
     payBill,
-    getBillsSummary 
+    getBillsSummary,
+    loadMoreBills,
+    hasMoreBills
   } = useBills();
   const { hasPermission } = useAuth();
   
@@ -149,7 +152,7 @@ const BillingManagement = () => {
             <Search size={20} className="absolute left-3 top-1/2 transform -translate-y-1/2 text-gray-400" />
             <input
               type="text"
-              placeholder="Search bills by number, customer name..."
+              placeholder="Search bills by number..."
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
               className="form-input pl-10 w-full"
@@ -174,14 +177,14 @@ const BillingManagement = () => {
         
         {/* Results Count */}
         <div className="mt-3 text-gray-300 text-sm">
-          Showing {bills.length} bills
+          Showing {bills.length} of {matchCount} bills
           {statusFilter && ` with status: ${statusFilter}`}
         </div>
       </GlassCard>
 
       {/* Bills Table */}
       <GlassCard className="p-0 overflow-hidden">
-        {loading ? (
+        {loading && bills.length === 0 ? (
           <div className="p-8 text-center">
             <LoadingSpinner size="lg" text="Loading bills..." />
           </div>
@@ -266,6 +269,17 @@ const BillingManagement = () => {
                 ))}
               </tbody>
             </table>
+            {hasMoreBills && (
+              <div className="p-4 text-center">
+                <button
+                  onClick={loadMoreBills}
+                  className="btn-secondary"
+                  disabled={loading}
+                >
+                  {loading ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </GlassCard>
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Save, X, Plus, Trash2, User, Calendar, Receipt } from 'lucide-react';
 import { useCustomers } from '../../hooks/useCustomers';
 import { useItems } from '../../hooks/useItems';
+import apiService from '../../services/api';
 import { generateBillNumber, calculateSubtotal, calculateTax, calculateTotal, formatCurrency } from '../../utils/helpers';
 import LoadingSpinner from '../common/LoadingSpinner';
 
@@ -23,6 +24,28 @@ const CreateBillForm = ({ onSubmit, onCancel }) => {
   });
   const [errors, setErrors] = useState({});
   const [loading, setLoading] = useState(false);
+  const [accountScan, setAccountScan] = useState('');
+  const [scannedCustomer, setScannedCustomer] = useState(null);
+
+  // Card scanners type the account number and press Enter; resolve it server-side
+  const handleAccountScan = async (e) => {
+    if (e.key !== 'Enter') return;
+    e.preventDefault();
+    const accountNumber = accountScan.trim();
+    if (!accountNumber) return;
+
+    try {
+      const customer = await apiService.getCustomerByAccountNumber(accountNumber);
+      setScannedCustomer(customer);
+      setFormData(prev => ({ ...prev, customerId: String(customer.customerId) }));
+      setErrors(prev => ({ ...prev, customerId: '' }));
+    } catch (error) {
+      setScannedCustomer(null);
+      setErrors(prev => ({ ...prev, customerId: 'No customer with that account number' }));
+    } finally {
+      setAccountScan('');
+    }
+  };
 
   const handleCustomerChange = (e) => {
     setFormData(prev => ({
@@ -197,12 +220,26 @@ const CreateBillForm = ({ onSubmit, onCancel }) => {
             disabled={loading}
           >
             <option value="">Select a customer</option>
+            {scannedCustomer && !customers.some(c => c.customerId === scannedCustomer.customerId) && (
+              <option value={scannedCustomer.customerId}>
+                {scannedCustomer.customerName} - {scannedCustomer.accountNumber}
+              </option>
+            )}
             {customers.map(customer => (
               <option key={customer.customerId} value={customer.customerId}>
                 {customer.customerName} - {customer.accountNumber}
               </option>
             ))}
           </select>
+          <input
+            type="text"
+            value={accountScan}
+            onChange={(e) => setAccountScan(e.target.value)}
+            onKeyDown={handleAccountScan}
+            className="form-input mt-2"
+            placeholder="Scan or type account number, then Enter"
+            disabled={loading}
+          />
           {errors.customerId && (
             <p className="text-red-300 text-sm mt-1">{errors.customerId}</p>
           )}
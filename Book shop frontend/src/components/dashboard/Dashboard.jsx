@@ -9,30 +9,45 @@ import {
   Clock,
   CheckCircle
 } from 'lucide-react';
-import { useCustomers } from '../../hooks/useCustomers';
-import { useItems } from '../../hooks/useItems';
-import { useBills } from '../../hooks/useBills';
+import apiService from '../../services/api';
 import { formatCurrency, formatDate } from '../../utils/helpers';
 import GlassCard from '../common/GlassCard';
 import LoadingSpinner from '../common/LoadingSpinner';
 
 const Dashboard = () => {
-  const { customers, loading: customersLoading } = useCustomers();
-  const { items, getLowStockItems, loading: itemsLoading } = useItems();
-  const { bills, getBillsSummary, loading: billsLoading } = useBills();
-  
-  // Use useMemo to calculate derived data and prevent unnecessary recalculations
-  const dashboardData = useMemo(() => {
-    const billsSummary = getBillsSummary();
-    const lowStockItems = getLowStockItems(10);
-    
-    return {
-      totalCustomers: customers.length,
-      totalItems: items.length,
-      lowStockItems: lowStockItems.length,
-      billsSummary,
+  const [stats, setStats] = useState(null);
+  const [recentBills, setRecentBills] = useState([]);
+  const [loading, setLoading] = useState(true);
+
+  // Aggregates come from the server-side rollups; only the five newest bills are downloaded
+  useEffect(() => {
+    let cancelled = false;
+    const load = async () => {
+      try {
+        const [statsData, page] = await Promise.all([
+          apiService.getDashboardStats({ lowStockThreshold: 10 }),
+          apiService.getBills({ size: 5 }),
+        ]);
+        if (!cancelled) {
+          setStats(statsData);
+          setRecentBills(page.items || []);
+        }
+      } catch (error) {
+        console.error('Failed to load dashboard:', error);
+      } finally {
+        if (!cancelled) setLoading(false);
+      }
     };
-  }, [customers.length, items.length, bills, getBillsSummary, getLowStockItems]);
+    load();
+    return () => { cancelled = true; };
+  }, []);
+
+  const dashboardData = useMemo(() => ({
+    totalCustomers: stats?.totalCustomers || 0,
+    totalItems: stats?.totalItems || 0,
+    lowStockItems: stats?.lowStockItems || [],
+    billsSummary: stats?.bills,
+  }), [stats]);
 
   const StatCard = ({ title, value, icon: Icon, color, trend, subtitle }) => (
     <GlassCard hover className="p-6">
@@ -58,13 +73,6 @@ const Dashboard = () => {
   );
 
   const RecentActivity = () => {
-    const recentBills = useMemo(() => 
-      bills
-        .sort((a, b) => new Date(b.billDate) - new Date(a.billDate))
-        .slice(0, 5),
-      [bills]
-    );
-
     return (
       <GlassCard className="p-6">
         <h3 className="text-lg font-semibold text-white mb-4">Recent Bills</h3>
@@ -102,7 +110,7 @@ const Dashboard = () => {
   };
 
   const LowStockAlert = () => {
-    const lowStockItems = useMemo(() => getLowStockItems(10), [getLowStockItems]);
+    const { lowStockItems } = dashboardData;
 
     if (lowStockItems.length === 0) {
       return null;
@@ -136,7 +144,7 @@ const Dashboard = () => {
     );
   };
 
-  if (customersLoading || itemsLoading || billsLoading) {
+  if (loading) {
     return (
       <div className="flex items-center justify-center min-h-screen">
         <LoadingSpinner size="lg" text="Loading dashboard..." />
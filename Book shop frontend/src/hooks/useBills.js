@@ -2,9 +2,19 @@ import { useState, useEffect, useCallback } from 'react';
 import apiService from '../services/api';
 import { validateBill } from '../utils/validators';
 import { generateBillNumber, calculateSubtotal, calculateTax, calculateTotal } from '../utils/helpers';
-import { PAYMENT_STATUS } from '../utils/constants';
 import toast from 'react-hot-toast';
 
+const SEARCH_DELAY_MS = 300;
+const EMPTY_SUMMARY = {
+  totalBills: 0,
+  pendingBills: 0,
+  paidBills: 0,
+  cancelledBills: 0,
+  totalAmount: 0,
+  paidAmount: 0,
+  pendingAmount: 0,
+};
+
 export const useBills = () => {
   const [bills, setBills] = useState([]);
   const [loading, setLoading] = useState(false);
@@ -12,14 +22,19 @@ export const useBills = () => {
   const [searchTerm, setSearchTerm] = useState('');
   const [statusFilter, setStatusFilter] = useState('');
   const [selectedBill, setSelectedBill] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [matchCount, setMatchCount] = useState(0);
+  const [summary, setSummary] = useState(EMPTY_SUMMARY);
 
-  // Fetch all bills
+  // Fetch the first page of bills matching the search term and status (newest first); the server filters
   const fetchBills = useCallback(async () => {
     try {
       setLoading(true);
       setError(null);
-      const data = await apiService.getBills();
-      setBills(data);
+      const page = await apiService.searchBills({ billNumber: searchTerm.trim(), status: statusFilter });
+      setBills(page.items);
+      setNextCursor(page.nextCursor);
+      setMatchCount(page.totals?.billCount ?? page.items.length);
     } catch (err) {
       const errorMessage = err.response?.data?.message || 'Failed to fetch bills';
       setError(errorMessage);
@@ -27,6 +42,37 @@ export const useBills = () => {
     } finally {
       setLoading(false);
     }
+  }, [searchTerm, statusFilter]);
+
+  // Append the next page of the same search, if the server reported one
+  const loadMoreBills = useCallback(async () => {
+    if (!nextCursor) return;
+    try {
+      setLoading(true);
+      const page = await apiService.searchBills({
+        billNumber: searchTerm.trim(),
+        status: statusFilter,
+        cursor: nextCursor,
+      });
+      setBills(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      const errorMessage = err.response?.data?.message || 'Failed to fetch bills';
+      toast.error(errorMessage);
+    } finally {
+      setLoading(false);
+    }
+  }, [nextCursor, searchTerm, statusFilter]);
+
+  // All-time counts and amounts per status, from the server's sales rollup rather than the loaded pages
+  const fetchBillsSummary = useCallback(async () => {
+    try {
+      const stats = await apiService.getDashboardStats();
+      setSummary(stats.bills || EMPTY_SUMMARY);
+    } catch (err) {
+      const errorMessage = err.response?.data?.message || 'Failed to fetch bill totals';
+      toast.error(errorMessage);
+    }
   }, []);
 
   // Fetch bill by ID
@@ -45,12 +91,18 @@ export const useBills = () => {
     }
   }, []);
 
-  // Fetch bills by customer
+  // Fetch every bill of a customer, following the cursor through all pages
   const fetchBillsByCustomer = useCallback(async (customerId) => {
     try {
       setLoading(true);
-      const data = await apiService.getBillsByCustomer(customerId);
-      return data;
+      const customerBills = [];
+      let cursor;
+      do {
+        const page = await apiService.getBillsByCustomer(customerId, { cursor });
+        customerBills.push(...page.items);
+        cursor = page.nextCursor;
+      } while (cursor);
+      return customerBills;
     } catch (err) {
       const errorMessage = err.response?.data?.message || 'Failed to fetch customer bills';
       toast.error(errorMessage);
@@ -81,7 +133,8 @@ export const useBills = () => {
       };
 
       const newBill = await apiService.createBill(dataWithBillNumber);
-      setBills(prev => [...prev, newBill]);
+      fetchBills();
+      fetchBillsSummary();
       toast.success('Bill created successfully!');
       return { success: true, data: newBill };
     } catch (err) {
@@ -91,7 +144,7 @@ export const useBills = () => {
     } finally {
       setLoading(false);
     }
-  }, []);
+  }, [fetchBills, fetchBillsSummary]);
 
   // Pay bill
   const payBill = useCallback(async (id) => {
@@ -99,12 +152,15 @@ export const useBills = () => {
       setLoading(true);
       const paidBill = await apiService.payBill(id);
       
-      setBills(prev => 
-        prev.map(bill => 
-          bill.billId === id ? paidBill : bill
-        )
-      );
-      
+      // a paid bill no longer matches a status filter other than PAID
+      if (statusFilter && paidBill.paymentStatus !== statusFilter) {
+        setBills(prev => prev.filter(bill => bill.billId !== id));
+        setMatchCount(count => count - 1);
+      } else {
+        setBills(prev => prev.map(bill => bill.billId === id ? paidBill : bill));
+      }
+      fetchBillsSummary();
+
       if (selectedBill?.billId === id) {
         setSelectedBill(paidBill);
       }
@@ -118,7 +174,7 @@ export const useBills = () => {
     } finally {
       setLoading(false);
     }
-  }, [selectedBill]);
+  }, [selectedBill, statusFilter, fetchBillsSummary]);
 
   // Calculate bill totals
   const calculateBillTotals = useCallback((items) => {
@@ -132,79 +188,20 @@ export const useBills = () => {
     return { subtotal, tax, total };
   }, []);
 
-  // Filter bills based on search term and status
-  const filteredBills = bills.filter(bill => {
-    const matchesSearch = !searchTerm || 
-      bill.billNumber?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      bill.customerName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      bill.customerId?.toString().includes(searchTerm);
-    
-    const matchesStatus = !statusFilter || 
-      bill.paymentStatus === statusFilter;
-
-    return matchesSearch && matchesStatus;
-  });
-
-  // Get bills by status
-  const getBillsByStatus = useCallback((status) => {
-    return bills.filter(bill => bill.paymentStatus === status);
-  }, [bills]);
-
-  // Get pending bills
-  const getPendingBills = useCallback(() => {
-    return getBillsByStatus(PAYMENT_STATUS.PENDING);
-  }, [getBillsByStatus]);
-
-  // Get paid bills
-  const getPaidBills = useCallback(() => {
-    return getBillsByStatus(PAYMENT_STATUS.PAID);
-  }, [getBillsByStatus]);
-
-  // Get cancelled bills
-  const getCancelledBills = useCallback(() => {
-    return getBillsByStatus(PAYMENT_STATUS.CANCELLED);
-  }, [getBillsByStatus]);
-
-  // Get bills summary
-  const getBillsSummary = useCallback(() => {
-    const totalBills = bills.length;
-    const pendingBills = getPendingBills().length;
-    const paidBills = getPaidBills().length;
-    const cancelledBills = getCancelledBills().length;
-    
-    const totalAmount = bills.reduce((sum, bill) => sum + (bill.totalAmount || 0), 0);
-    const paidAmount = getPaidBills().reduce((sum, bill) => sum + (bill.totalAmount || 0), 0);
-    const pendingAmount = getPendingBills().reduce((sum, bill) => sum + (bill.totalAmount || 0), 0);
-    
-    return {
-      totalBills,
-      pendingBills,
-      paidBills,
-      cancelledBills,
-      totalAmount,
-      paidAmount,
-      pendingAmount,
-    };
-  }, [bills, getPendingBills, getPaidBills, getCancelledBills]);
-
-  // Get bills by date range
-  const getBillsByDateRange = useCallback((startDate, endDate) => {
-    return bills.filter(bill => {
-      const billDate = new Date(bill.billDate);
-      const start = new Date(startDate);
-      const end = new Date(endDate);
-      return billDate >= start && billDate <= end;
-    });
-  }, [bills]);
-
-  // Load bills on mount
+  // Re-run the search when the filters change, waiting for the user to stop typing
   useEffect(() => {
-    fetchBills();
+    const timer = setTimeout(fetchBills, SEARCH_DELAY_MS);
+    return () => clearTimeout(timer);
   }, [fetchBills]);
 
+  // Load the status totals on mount
+  useEffect(() => {
+    fetchBillsSummary();
+  }, [fetchBillsSummary]);
+
   return {
-    bills: filteredBills,
-    allBills: bills,
+    bills,
+    matchCount,
     loading,
     error,
     searchTerm,
@@ -214,16 +211,13 @@ export const useBills = () => {
     selectedBill,
     setSelectedBill,
     fetchBills,
+    loadMoreBills,
+    hasMoreBills: !!nextCursor,
     fetchBillById,
     fetchBillsByCustomer,
     createBill,
     payBill,
     calculateBillTotals,
-    getBillsByStatus,
-    getPendingBills,
-    getPaidBills,
-    getCancelledBills,
-    getBillsSummary,
-    getBillsByDateRange,
+    getBillsSummary: () => summary,
   };
 };
\ No newline at end of file
@@ -107,6 +107,16 @@ class ApiService {
     return response.data;
   }
 
+  async getCustomerByAccountNumber(accountNumber) {
+    const response = await api.get(ENDPOINTS.CUSTOMERS.BY_ACCOUNT(accountNumber));
+    return response.data;
+  }
+
+  async getCustomerBalance(id) {
+    const response = await api.get(ENDPOINTS.CUSTOMERS.BALANCE(id));
+    return response.data;
+  }
+
   async createCustomer(customerData) {
     const response = await api.post(ENDPOINTS.CUSTOMERS.BASE, customerData);
     return response.data;
@@ -149,8 +159,18 @@ class ApiService {
   }
 
   // Bill APIs
-  async getBills() {
-    const response = await api.get(ENDPOINTS.BILLS.BASE);
+  // Returns one page: { items, nextCursor }; pass nextCursor back to get the following page
+  async getBills({ cursor, size, customerId } = {}) {
+    const response = await api.get(ENDPOINTS.BILLS.BASE, { params: { cursor, size, customerId } });
+    return response.data;
+  }
+
+  // Server-side search: returns { items, nextCursor, totals } where totals cover every match
+  async searchBills(criteria = {}) {
+    const params = Object.fromEntries(
+      Object.entries(criteria).filter(([, value]) => value !== '' && value !== null && value !== undefined)
+    );
+    const response = await api.get(ENDPOINTS.BILLS.SEARCH, { params });
     return response.data;
   }
 
@@ -159,8 +179,14 @@ class ApiService {
     return response.data;
   }
 
-  async getBillsByCustomer(customerId) {
-    const response = await api.get(ENDPOINTS.BILLS.BY_CUSTOMER(customerId));
+  // Server-rendered receipt: format 'text' (thermal printer) or 'pdf'; resolves to a Blob
+  async getBillReceipt(id, format = 'text') {
+    const response = await api.get(ENDPOINTS.BILLS.RECEIPT(id), { params: { format }, responseType: 'blob' });
+    return response.data;
+  }
+
+  async getBillsByCustomer(customerId, { cursor, size } = {}) {
+    const response = await api.get(ENDPOINTS.BILLS.BASE, { params: { customerId, cursor, size } });
     return response.data;
   }
 
@@ -174,6 +200,18 @@ class ApiService {
     return response.data;
   }
 
+  // Dashboard APIs
+  async getDashboardStats({ lowStockThreshold } = {}) {
+    const response = await api.get(ENDPOINTS.DASHBOARD.STATS, { params: { lowStockThreshold } });
+    return response.data;
+  }
+
+  // days=1 for today, days=7 for this week
+  async getTopItems({ days, limit } = {}) {
+    const response = await api.get(ENDPOINTS.REPORTS.TOP_ITEMS, { params: { days, limit } });
+    return response.data;
+  }
+
   // Generic API methods
   async get(endpoint, params = {}) {
     const response = await api.get(endpoint, { params });
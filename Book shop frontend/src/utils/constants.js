@@ -7,6 +7,8 @@ export const ENDPOINTS = {
   CUSTOMERS: {
     BASE: '/customers',
     BY_ID: (id) => `/customers/${id}`,
+    BY_ACCOUNT: (accountNumber) => `/customers/by-account/${encodeURIComponent(accountNumber)}`,
+    BALANCE: (id) => `/customers/${id}/balance`,
   },
   ITEMS: {
     BASE: '/items',
@@ -15,8 +17,15 @@ export const ENDPOINTS = {
   BILLS: {
     BASE: '/bills',
     BY_ID: (id) => `/bills/${id}`,
-    BY_CUSTOMER: (customerId) => `/bills?customerId=${customerId}`,
+    SEARCH: '/bills/search',
     PAY: (id) => `/bills/${id}/pay`,
+    RECEIPT: (id) => `/bills/${id}/receipt`,
+  },
+  DASHBOARD: {
+    STATS: '/dashboard/stats',
+  },
+  REPORTS: {
+    TOP_ITEMS: '/reports/top-items',
   },
 };
 
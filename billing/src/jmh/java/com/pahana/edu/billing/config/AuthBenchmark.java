@@ -0,0 +1,64 @@
+package com.pahana.edu.billing.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and parse as done per login and per request, and the BCrypt check done per login.
+ *
+ * <p>{@code tokenCacheSize=0} verifies every call; {@code legacyExtractUsername} is the original per-request
+ * cost (key and parser rebuilt each time) for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+  private static final String SECRET = "bXktdmVyeS1zZWNyZXQtand0LWtleS1jaGFuZ2UtdGhpcy1pbi1wcm9kdWN0aW9u";
+
+  @Param({"0", "10000"})
+  long tokenCacheSize;
+
+  private JwtService jwt;
+  private String token;
+  // same strength as SecurityConfig's encoder
+  private final PasswordEncoder encoder = new BCryptPasswordEncoder();
+  private String hash;
+
+  @Setup
+  public void setUp() {
+    jwt = new JwtService(SECRET, 86_400_000L, tokenCacheSize);
+    token = jwt.generateToken("cashier", "CASHIER");
+    hash = encoder.encode("admin123");
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwt.generateToken("cashier", "CASHIER");
+  }
+
+  @Benchmark
+  public String extractUsername() {
+    return jwt.extractUsername(token);
+  }
+
+  @Benchmark
+  public String legacyExtractUsername() {
+    var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public boolean passwordMatches() {
+    return encoder.matches("admin123", hash);
+  }
+}
@@ -0,0 +1,75 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.BillItem;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a page of bills to {@link BillResponse}s and writing them as JSON, the per-request work behind every
+ * bill listing. Lives in the service package to reach {@code BillingServiceImpl.toDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillResponseBenchmark {
+
+  @Param({"50", "200"})
+  int bills;
+
+  @Param({"5"})
+  int linesPerBill;
+
+  private List<Bill> entities;
+  private List<BillResponse> responses;
+  // configured like the one Spring MVC writes responses with
+  private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+  @Setup
+  public void setUp() {
+    var customer = Customer.builder().customerId(1L).accountNumber("ACC-1").customerName("Bench School").build();
+    var items = new ArrayList<Item>();
+    for (int i = 0; i < linesPerBill; i++) {
+      items.add(Item.builder().itemId(1000L + i).itemName("Item " + i).price(10.0 + i).stockQuantity(100).build());
+    }
+    entities = new ArrayList<>(bills);
+    for (int b = 0; b < bills; b++) {
+      var bill = Bill.builder().billId((long) b).billNumber("MAIN-20250101-" + b).customer(customer)
+          .billDate(LocalDate.of(2025, 1, 1)).paymentStatus(PaymentStatus.PENDING).taxAmount(8.0).totalAmount(108.0).build();
+      for (int l = 0; l < linesPerBill; l++) {
+        bill.getItems().add(BillItem.builder().billItemId((long) b * linesPerBill + l).bill(bill).item(items.get(l))
+            .quantity(2).unitPrice(10.0).subtotal(20.0).build());
+      }
+      entities.add(bill);
+    }
+    responses = entities.stream().map(BillingServiceImpl::toDto).toList();
+  }
+
+  @Benchmark
+  public List<BillResponse> toDto() {
+    return entities.stream().map(BillingServiceImpl::toDto).toList();
+  }
+
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return mapper.writeValueAsBytes(responses);
+  }
+
+  @Benchmark
+  public byte[] toDtoAndSerialize() throws Exception {
+    return mapper.writeValueAsBytes(toDto());
+  }
+}
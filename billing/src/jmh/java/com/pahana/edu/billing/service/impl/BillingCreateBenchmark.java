@@ -0,0 +1,98 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.PahanaEduBillingApplication;
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.ItemRepository;
+import com.pahana.edu.billing.service.interfaces.BillingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BillingService#create} end to end — stock reservation, bill number, insert of the bill and its lines,
+ * rollup and balance updates — against an in-memory H2 database in MySQL mode, with and without the stock ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BillingCreateBenchmark {
+
+  @Param({"false", "true"})
+  String stockLedger;
+
+  @Param({"3"})
+  int linesPerBill;
+
+  private ConfigurableApplicationContext context;
+  private BillingService billing;
+  private long customerId;
+  private final List<Long> itemIds = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void start() {
+    context = new SpringApplicationBuilder(PahanaEduBillingApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.show-sql=false",
+            "spring.sql.init.mode=never",
+            "logging.level.root=WARN",
+            "app.billing.stock-ledger.enabled=" + stockLedger)
+        .run();
+    billing = context.getBean(BillingService.class);
+
+    customerId = context.getBean(CustomerRepository.class)
+        .save(Customer.builder().accountNumber("BENCH-1").customerName("Bench School").build()).getCustomerId();
+    var items = context.getBean(ItemRepository.class);
+    for (int i = 0; i < 10; i++) {
+      // enough stock that no iteration ever sells out
+      itemIds.add(items.save(Item.builder().itemName("Item " + i).category("Stationery").price(10.0 + i)
+          .stockQuantity(1_000_000_000).build()).getItemId());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    context.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public BillResponse create() {
+    return billing.create(request());
+  }
+
+  // several tills contending for the same hot items
+  @Benchmark
+  @Threads(8)
+  public BillResponse createContended() {
+    return billing.create(request());
+  }
+
+  private BillCreateRequest request() {
+    var random = ThreadLocalRandom.current();
+    var lines = new ArrayList<BillItemRequest>(linesPerBill);
+    for (int l = 0; l < linesPerBill; l++) {
+      lines.add(new BillItemRequest(itemIds.get(random.nextInt(itemIds.size())), 1, null));
+    }
+    return new BillCreateRequest(customerId, null, null, lines);
+  }
+}
@@ -6,14 +6,26 @@ import com.pahana.edu.billing.service.interfaces.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController @RequestMapping("/api/auth") @RequiredArgsConstructor
 public class AuthController {
   private final AuthService authService;
 
   @PostMapping("/login")
-  public ResponseEntity<AuthResponse> login(@RequestBody @Valid LoginRequest req){
-    return ResponseEntity.ok(authService.login(req.username(), req.password()));
+  public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody @Valid LoginRequest req){
+    // the request thread is released while the password is checked
+    return authService.loginAsync(req.username(), req.password()).thenApply(ResponseEntity::ok);
+  }
+
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(Authentication auth){
+    // only a bearer-authenticated caller has something to revoke
+    if(!(auth instanceof UsernamePasswordAuthenticationToken)) return ResponseEntity.status(401).build();
+    authService.logoutEverywhere(auth.getName());
+    return ResponseEntity.noContent().build();
   }
 }
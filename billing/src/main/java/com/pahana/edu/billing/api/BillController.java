@@ -2,12 +2,28 @@
 package com.pahana.edu.billing.api;
 
 import com.pahana.edu.billing.domain.dto.bill.*;
+import com.pahana.edu.billing.domain.enums.ExportFormat;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import com.pahana.edu.billing.service.interfaces.BillBatchService;
+import com.pahana.edu.billing.service.interfaces.BillExportService;
 import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.interfaces.ReceiptService;
+import com.pahana.edu.billing.service.support.IdempotencyKeyStore;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -16,24 +32,86 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BillController {
   private final BillingService billing;
+  private final BillExportService exporter;
+  private final BillBatchService batch;
+  private final IdempotencyKeyStore idempotencyKeys;
+  private final ReceiptService receipts;
 
-  // Get all bills OR bills by customer (if customerId param provided)
+  @Value("${app.billing.export.timeout:PT30M}")
+  private Duration exportTimeout;
+
+  // Get a page of bills (newest first), optionally for one customer; follow nextCursor for the next page
   @GetMapping
-  public ResponseEntity<List<BillResponse>> getAllBills(
-      @RequestParam(value = "customerId", required = false) Long customerId) {
-    log.info("📋 GET /api/bills - customerId: {}", customerId);
-    
-    if (customerId != null) {
-      return ResponseEntity.ok(billing.listByCustomer(customerId));
-    } else {
-      return ResponseEntity.ok(billing.listAll());
-    }
+  public ResponseEntity<BillPage> getAllBills(
+      @RequestParam(value = "customerId", required = false) Long customerId,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", required = false) Integer size) {
+    log.info("📋 GET /api/bills - customerId: {}, size: {}", customerId, size);
+    return ResponseEntity.ok(billing.page(customerId, cursor, size));
+  }
+
+  // Server-side filtered search with aggregate totals; every filter is optional
+  @GetMapping("/search")
+  public ResponseEntity<BillSearchResponse> search(
+      @RequestParam(value = "billNumber", required = false) String billNumber,
+      @RequestParam(value = "customerId", required = false) Long customerId,
+      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(value = "minAmount", required = false) Double minAmount,
+      @RequestParam(value = "maxAmount", required = false) Double maxAmount,
+      @RequestParam(value = "status", required = false) PaymentStatus status,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", required = false) Integer size) {
+    log.info("📋 GET /api/bills/search - billNumber: {}, customerId: {}, from: {}, to: {}, status: {}",
+        billNumber, customerId, from, to, status);
+    var criteria = new BillSearchCriteria(billNumber, customerId, from, to, minAmount, maxAmount, status);
+    return ResponseEntity.ok(billing.search(criteria, cursor, size));
+  }
+
+  // Streams every bill as NDJSON (one BillResponse per line) or CSV (one row per bill)
+  @GetMapping("/export")
+  public WebAsyncTask<Void> export(
+      @RequestParam(value = "format", defaultValue = "ndjson") String format, HttpServletResponse response) {
+    var fmt = ExportFormat.from(format);
+    log.info("📋 GET /api/bills/export - format: {}", fmt);
+    response.setContentType(fmt.contentType());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bills." + fmt.extension());
+    // a full export can take minutes, so it gets its own timeout instead of raising the default for every request
+    return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+      exporter.export(fmt, response.getOutputStream());
+      return null;
+    });
   }
 
   @PostMapping 
-  public ResponseEntity<BillResponse> create(@Valid @RequestBody BillCreateRequest r){
+  public ResponseEntity<BillResponse> create(@Valid @RequestBody BillCreateRequest r,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
     log.info("📋 POST /api/bills - Creating new bill");
-    return ResponseEntity.ok(billing.create(r));
+    if(idempotencyKey == null) return ResponseEntity.ok(billing.create(r));
+
+    // a retry of a bill we already created gets the original response without touching stock again
+    var previous = idempotencyKeys.find(idempotencyKey, r, billing::get);
+    if(previous.isPresent()) return replayed(previous.get());
+    try {
+      return ResponseEntity.ok(billing.create(r, idempotencyKey));
+    } catch(DataIntegrityViolationException ex) {
+      // lost the race against a concurrent retry with the same key; otherwise a genuine conflict
+      return idempotencyKeys.find(idempotencyKey, r, billing::get).map(this::replayed).orElseThrow(() -> ex);
+    }
+  }
+
+  private ResponseEntity<BillResponse> replayed(BillResponse bill){
+    log.info("📋 POST /api/bills - Replaying bill {} for a repeated Idempotency-Key", bill.billId());
+    return ResponseEntity.ok().header("Idempotent-Replayed", "true").body(bill);
+  }
+
+  // Catch-up ingest for offline terminals; each bill is validated and reported on individually
+  @PostMapping("/batch")
+  public ResponseEntity<BillBatchResponse> createBatch(@RequestBody List<BillCreateRequest> bills){
+    log.info("📋 POST /api/bills/batch - Ingesting {} bills", bills.size());
+    var res = batch.createAll(bills);
+    log.info("✅ Batch ingested: {} succeeded, {} failed", res.succeeded(), res.failed());
+    return ResponseEntity.ok(res);
   }
 
   @GetMapping("/{id}") 
@@ -42,6 +120,18 @@ public class BillController {
     return ResponseEntity.ok(billing.get(id)); 
   }
 
+  // Printable receipt: text for thermal printers or PDF for email, rendered in the background after checkout
+  @GetMapping("/{id}/receipt")
+  public ResponseEntity<byte[]> receipt(@PathVariable("id") Long id,
+      @RequestParam(value = "format", defaultValue = "text") String format){
+    var fmt = ReceiptFormat.from(format);
+    log.info("📋 GET /api/bills/{}/receipt - format: {}", id, fmt);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(fmt.contentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=receipt-" + id + "." + fmt.extension())
+        .body(receipts.get(id, fmt));
+  }
+
   @PostMapping("/{id}/pay") 
   public ResponseEntity<BillResponse> markPaid(@PathVariable("id") Long id){
     log.info("📋 POST /api/bills/{}/pay - Marking bill as paid", id);
@@ -5,8 +5,11 @@ import com.pahana.edu.billing.domain.dto.customer.*;
 import com.pahana.edu.billing.service.interfaces.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController @RequestMapping("/api/customers") @RequiredArgsConstructor
@@ -14,8 +17,15 @@ public class CustomerController {
   private final CustomerService service;
 
   @PostMapping public ResponseEntity<CustomerResponse> create(@Valid @RequestBody CustomerCreateRequest r){ return ResponseEntity.ok(service.create(r)); }
+  @GetMapping("/by-account/{accountNumber}") public ResponseEntity<CustomerResponse> getByAccount(@PathVariable("accountNumber") String accountNumber){ return ResponseEntity.ok(service.getByAccountNumber(accountNumber)); }
+  @GetMapping("/{id}/balance") public ResponseEntity<CustomerBalanceResponse> balance(@PathVariable("id") Long id){ return ResponseEntity.ok(service.getBalance(id)); }
   @GetMapping("/{id}") public ResponseEntity<CustomerResponse> get(@PathVariable Long id){ return ResponseEntity.ok(service.get(id)); }
-  @GetMapping public ResponseEntity<List<CustomerResponse>> list(){ return ResponseEntity.ok(service.list()); }
+  // Conditional GET: a matching If-None-Match is answered with 304 before the table is read
+  @GetMapping public ResponseEntity<List<CustomerResponse>> list(WebRequest request){
+    var etag = service.listETag();
+    if(request.checkNotModified(etag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(service.list());
+  }
   @PutMapping("/{id}") public ResponseEntity<CustomerResponse> update(@PathVariable Long id,@Valid @RequestBody CustomerCreateRequest r){ return ResponseEntity.ok(service.update(id,r)); }
   @DeleteMapping("/{id}") public ResponseEntity<Void> delete(@PathVariable Long id){ service.delete(id); return ResponseEntity.noContent().build(); }
 }
@@ -0,0 +1,18 @@
+// api/DashboardController.java
+package com.pahana.edu.billing.api;
+
+import com.pahana.edu.billing.domain.dto.dashboard.DashboardStats;
+import com.pahana.edu.billing.service.interfaces.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController @RequestMapping("/api/dashboard") @RequiredArgsConstructor
+public class DashboardController {
+  private final DashboardService service;
+
+  @GetMapping("/stats") public ResponseEntity<DashboardStats> stats(
+      @RequestParam(value = "lowStockThreshold", defaultValue = "10") int lowStockThreshold){
+    return ResponseEntity.ok(service.stats(lowStockThreshold));
+  }
+}
@@ -5,8 +5,11 @@ import com.pahana.edu.billing.domain.dto.item.*;
 import com.pahana.edu.billing.service.interfaces.ItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController @RequestMapping("/api/items") @RequiredArgsConstructor
@@ -15,7 +18,12 @@ public class ItemController {
 
   @PostMapping public ResponseEntity<ItemResponse> create(@Valid @RequestBody ItemCreateRequest r){ return ResponseEntity.ok(service.create(r)); }
   @GetMapping("/{id}") public ResponseEntity<ItemResponse> get(@PathVariable Long id){ return ResponseEntity.ok(service.get(id)); }
-  @GetMapping public ResponseEntity<List<ItemResponse>> list(){ return ResponseEntity.ok(service.list()); }
+  // Conditional GET: a matching If-None-Match is answered with 304 before the catalog is read
+  @GetMapping public ResponseEntity<List<ItemResponse>> list(WebRequest request){
+    var etag = service.listETag();
+    if(request.checkNotModified(etag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(service.list());
+  }
   @PutMapping("/{id}") public ResponseEntity<ItemResponse> update(@PathVariable Long id, @RequestBody ItemUpdateRequest r){ return ResponseEntity.ok(service.update(id,r)); }
   @DeleteMapping("/{id}") public ResponseEntity<Void> delete(@PathVariable Long id){ service.delete(id); return ResponseEntity.noContent().build(); }
 }
@@ -0,0 +1,20 @@
+// api/ReportController.java
+package com.pahana.edu.billing.api;
+
+import com.pahana.edu.billing.domain.dto.report.TopItemsResponse;
+import com.pahana.edu.billing.service.interfaces.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController @RequestMapping("/api/reports") @RequiredArgsConstructor
+public class ReportController {
+  private final ReportService service;
+
+  // days=1 is today, days=7 this week (both by calendar day)
+  @GetMapping("/top-items") public ResponseEntity<TopItemsResponse> topItems(
+      @RequestParam(value = "days", defaultValue = "1") int days,
+      @RequestParam(value = "limit", defaultValue = "20") int limit){
+    return ResponseEntity.ok(service.topItems(days, limit));
+  }
+}
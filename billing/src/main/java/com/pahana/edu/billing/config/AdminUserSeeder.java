@@ -0,0 +1,33 @@
+// config/AdminUserSeeder.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.domain.entity.User;
+import com.pahana.edu.billing.domain.enums.UserType;
+import com.pahana.edu.billing.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the default {@code admin} user on first start. A component rather than a bean on the application
+ * class, so the web and JPA test slices do not pull it in.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminUserSeeder implements CommandLineRunner {
+  private final UserRepository users;
+  private final PasswordEncoder encoder;
+
+  @Override
+  public void run(String... args){
+    if(!users.existsByUsername("admin")){
+      users.save(User.builder()
+        .username("admin")
+        .password(encoder.encode("admin123"))
+        .email("admin@pahana.edu")
+        .userType(UserType.ADMIN)
+        .build());
+    }
+  }
+}
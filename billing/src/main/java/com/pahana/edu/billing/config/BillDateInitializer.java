@@ -0,0 +1,29 @@
+// config/BillDateInitializer.java
+package com.pahana.edu.billing.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dates bills written before {@code bill_date} became NOT NULL, which {@code ddl-auto: update} does not enforce
+ * on an existing column. Keyset pages compare {@code bill_date}, so an undated bill would never be listed; it
+ * gets the oldest date on file and so keeps its place at the end of the newest-first listing.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class BillDateInitializer {
+  private final JdbcTemplate jdbc;
+
+  @PostConstruct
+  void backfillMissingDates(){
+    int dated = jdbc.update("UPDATE bills SET bill_date = COALESCE("
+        + "(SELECT d FROM (SELECT MIN(bill_date) AS d FROM bills) oldest), CURRENT_DATE) WHERE bill_date IS NULL");
+    if(dated > 0) log.warn("Gave {} undated bills the oldest bill date on file", dated);
+  }
+}
@@ -0,0 +1,38 @@
+// config/CustomerBalanceInitializer.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills in customer balances from existing bills the first time the app starts after the balance columns were
+ * added (bills exist but no customer has any spend yet); from then on bill create/pay keeps them current.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class CustomerBalanceInitializer {
+  private final CustomerRepository customers;
+  private final BillRepository bills;
+  private final TransactionTemplate tx;
+
+  public CustomerBalanceInitializer(CustomerRepository customers, BillRepository bills, PlatformTransactionManager txManager){
+    this.customers = customers;
+    this.bills = bills;
+    this.tx = new TransactionTemplate(txManager);
+  }
+
+  @PostConstruct
+  void backfillIfMissing(){
+    if(customers.countWithSpend() > 0 || bills.count() == 0) return;
+
+    Integer updated = tx.execute(status -> customers.recomputeBalances());
+    log.info("Computed balances for {} customers from existing bills", updated);
+  }
+}
@@ -0,0 +1,50 @@
+// config/IdSequenceInitializer.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.domain.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**
+ * Seeds {@code id_sequences} for tables that already hold rows written under the old IDENTITY ids, so the
+ * pooled generators never hand out a key that is already taken. Runs once the schema has been updated.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+  // sequence name (pkColumnValue) -> id column; the sequence name doubles as the table name
+  private static final Map<String, String> ID_COLUMNS = Map.of(
+      "admins", "admin_id", "bills", "bill_id", "bill_items", "bill_item_id",
+      "customers", "customer_id", "items", "item_id", "users", "user_id");
+
+  private final JdbcTemplate jdbc;
+
+  @PostConstruct
+  void seedFromExistingRows(){
+    ID_COLUMNS.forEach((table, idColumn) -> {
+      Integer present = jdbc.queryForObject("SELECT COUNT(*) FROM " + IdGenerators.TABLE
+          + " WHERE " + IdGenerators.PK_COLUMN + " = ?", Integer.class, table);
+      if(present != null && present > 0) return;
+
+      Long max = jdbc.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+      if(max == null || max == 0) return; // empty table: let Hibernate create the row with its initial value
+
+      // the pooled optimizer treats a stored value v as the upper bound of the block (v - size, v]
+      try {
+        jdbc.update("INSERT INTO " + IdGenerators.TABLE + "(" + IdGenerators.PK_COLUMN + ", "
+            + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", table, max + IdGenerators.ALLOCATION_SIZE);
+        log.info("Seeded id sequence '{}' above existing max id {}", table, max);
+      } catch(DuplicateKeyException raced) {
+        // another instance seeded it first
+      }
+    });
+  }
+}
@@ -1,7 +1,7 @@
 // config/JwtAuthFilter.java
 package com.pahana.edu.billing.config;
 
-import com.pahana.edu.billing.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
@@ -9,63 +9,45 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Authenticates {@code Authorization: Bearer} requests from the token alone: the subject and role claims become
+ * the principal and its authority, and {@link TokenRevocations} rejects tokens issued before a revocation.
+ * No database query per request. Invalid tokens leave the request anonymous.
+ *
+ * <p>Not a bean, so the servlet container does not register it a second time outside the security chain.
+ */
 @Slf4j
-// @Component 
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
-  private final JwtService jwtService;
-  private final UserRepository userRepo;
+  private static final String BEARER = "Bearer ";
 
-  @Override
-  protected boolean shouldNotFilter(HttpServletRequest request) {
-    String path = request.getRequestURI();
-    boolean shouldSkip = path.equals("/api/health") || 
-           path.startsWith("/api/auth/") || 
-           path.startsWith("/api/bills") ||  // Remove the trailing slash
-           path.equals("/error");
-    
-    log.info("🔍 JWT Filter - Path: {}, Should Skip: {}", path, shouldSkip);
-    return shouldSkip;
-  }
+  private final JwtService jwtService;
+  private final TokenRevocations revocations;
 
   @Override
   protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
       throws ServletException, IOException {
-    
-    String path = req.getRequestURI();
     String header = req.getHeader("Authorization");
-    
-    log.info("🔐 JWT Filter Processing - Path: {}, Has Auth Header: {}", path, header != null);
-    
-    if(StringUtils.hasText(header) && header.startsWith("Bearer ")){
-      String token = header.substring(7);
+    if(StringUtils.hasText(header) && header.startsWith(BEARER)){
       try {
-        String username = jwtService.extractUsername(token);
-        log.info("📝 Extracted username from token: {}", username);
-        
-        var user = userRepo.findByUsername(username).orElse(null);
-        if(user != null){
-          log.info("✅ User found: {}, Role: {}", username, user.getUserType());
+        var claims = jwtService.verify(header.substring(BEARER.length()));
+        var role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if(role != null && revocations.isCurrent(claims)){
           var auth = new UsernamePasswordAuthenticationToken(
-              username, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserType().name())));
+              claims.getSubject(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
           SecurityContextHolder.getContext().setAuthentication(auth);
-          log.info("🔑 Authentication set successfully for user: {}", username);
         } else {
-          log.warn("❌ User not found in database: {}", username);
+          log.debug("Rejected token for {}: revoked or without a role", claims.getSubject());
         }
-      } catch(Exception e) {
-        log.error("💥 JWT processing failed: {}", e.getMessage());
+      } catch(JwtException | IllegalArgumentException e) {
+        log.debug("Rejected bearer token: {}", e.getMessage());
       }
-    } else {
-      log.warn("🚫 No valid Authorization header found");
     }
-    
     chain.doFilter(req, res);
   }
 }
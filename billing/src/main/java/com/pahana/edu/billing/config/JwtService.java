@@ -1,32 +1,108 @@
 // config/JwtService.java
 package com.pahana.edu.billing.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 
+/**
+ * Issues and verifies the HS256 bearer tokens. The key and parser are built once; verified claims are kept in a
+ * bounded cache keyed by a SHA-256 digest of the token and dropped when the token expires, so a client repeating
+ * the same token pays for signature verification and JSON parsing once rather than on every request.
+ */
 @Component
 public class JwtService {
-  @Value("${app.security.jwt-secret}") private String secret;
-  @Value("${app.security.jwt-expiration-ms}") private long expirationMs;
+  public static final String ROLE_CLAIM = "role";
+  public static final String VERSION_CLAIM = "ver";
 
-  private SecretKey key(){ return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)); }
+  private final SecretKey key;
+  private final JwtParser parser;
+  private final long expirationMs;
+  // null when app.security.token-cache.max-size is 0
+  private final Cache<String, Claims> verified;
+
+  public JwtService(@Value("${app.security.jwt-secret}") String secret,
+                    @Value("${app.security.jwt-expiration-ms}") long expirationMs,
+                    @Value("${app.security.token-cache.max-size:10000}") long tokenCacheSize){
+    this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    this.expirationMs = expirationMs;
+    this.verified = tokenCacheSize <= 0 ? null
+        : Caffeine.newBuilder().maximumSize(tokenCacheSize).expireAfter(new UntilTokenExpiry()).build();
+  }
 
   public String generateToken(String username, String role){
+    return generateToken(username, role, 0);
+  }
+
+  /** @param tokenVersion the user's current {@code tokenVersion}, checked by {@link TokenRevocations} */
+  public String generateToken(String username, String role, int tokenVersion){
     return Jwts.builder()
       .setSubject(username)
-      .claim("role", role)
+      .claim(ROLE_CLAIM, role)
+      .claim(VERSION_CLAIM, tokenVersion)
       .setIssuedAt(new Date())
       .setExpiration(new Date(System.currentTimeMillis()+expirationMs))
-      .signWith(key()).compact();
+      .signWith(key).compact();
+  }
+
+  /**
+   * Claims of a valid, unexpired token.
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+   */
+  public Claims verify(String token){
+    if(verified == null) return parser.parseClaimsJws(token).getBody();
+    var digest = digest(token);
+    var claims = verified.getIfPresent(digest);
+    if(claims == null){
+      claims = parser.parseClaimsJws(token).getBody();
+      verified.put(digest, claims);
+    }
+    return claims;
   }
 
   public String extractUsername(String token){
-    return Jwts.parserBuilder().setSigningKey(key()).build()
-        .parseClaimsJws(token).getBody().getSubject();
+    return verify(token).getSubject();
+  }
+
+  public String extractRole(String token){
+    return verify(token).get(ROLE_CLAIM, String.class);
+  }
+
+  private static String digest(String token){
+    try {
+      var sha = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(sha);
+    } catch(NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex); // every JRE ships SHA-256
+    }
+  }
+
+  // an entry lives exactly as long as its token is valid
+  private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+    @Override public long expireAfterCreate(String digest, Claims claims, long currentTime){
+      var exp = claims.getExpiration();
+      if(exp == null) return Long.MAX_VALUE;
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, exp.getTime() - System.currentTimeMillis()));
+    }
+    @Override public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration){
+      return currentDuration;
+    }
+    @Override public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration){
+      return currentDuration;
+    }
   }
 }
@@ -0,0 +1,58 @@
+// config/MetricsConfig.java
+package com.pahana.edu.billing.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**
+ * Instrumentation beyond what actuator binds on its own (HTTP server timings, HikariCP pool gauges):
+ * {@code @Timed} service methods, plus (opt-in) SQL statement and entity-load counts per request route.
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  TimedAspect timedAspect(MeterRegistry registry){ return new TimedAspect(registry); }
+
+  /**
+   * Per-route SQL statement and entity-load counts. Off unless {@code app.metrics.sql.enabled=true}: it wraps
+   * every DataSource in a counting proxy, and only counts work done on the request thread (see
+   * {@link StatementCounter}).
+   */
+  @Configuration
+  @ConditionalOnProperty(name = "app.metrics.sql.enabled", havingValue = "true")
+  static class SqlMetrics {
+
+    // static so it is registered before the DataSource is created
+    @Bean
+    static BeanPostProcessor statementCountingDataSource(){
+      return new BeanPostProcessor() {
+        @Override public Object postProcessAfterInitialization(Object bean, String beanName){
+          return bean instanceof DataSource ds && !(bean instanceof StatementCountingDataSource)
+              ? new StatementCountingDataSource(ds) : bean;
+        }
+      };
+    }
+
+    @Bean
+    RequestSqlMetricsFilter requestSqlMetricsFilter(MeterRegistry registry){ return new RequestSqlMetricsFilter(registry); }
+
+    @Bean
+    InitializingBean entityLoadCounting(EntityManagerFactory emf){
+      return () -> emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+          .getService(EventListenerRegistry.class)
+          .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> StatementCounter.entityLoad());
+    }
+  }
+}
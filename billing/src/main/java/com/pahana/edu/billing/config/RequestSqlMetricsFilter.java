@@ -0,0 +1,42 @@
+// config/RequestSqlMetricsFilter.java
+package com.pahana.edu.billing.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, tagged like {@code http.server.requests}
+ * with the method and the route pattern (never the raw path, to keep cardinality bounded):
+ * {@code http.server.requests.sql.statements} and {@code http.server.requests.entity.loads}.
+ */
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+  private final MeterRegistry registry;
+
+  public RequestSqlMetricsFilter(MeterRegistry registry){ this.registry = registry; }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+      throws ServletException, IOException {
+    var scope = StatementCounter.open();
+    try {
+      chain.doFilter(req, res);
+    } finally {
+      scope.close();
+      var route = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      var uri = route != null ? route.toString() : "UNKNOWN";
+      summary("http.server.requests.sql.statements", "statements", req.getMethod(), uri).record(scope.statements());
+      summary("http.server.requests.entity.loads", "entities", req.getMethod(), uri).record(scope.entityLoads());
+    }
+  }
+
+  private DistributionSummary summary(String name, String unit, String method, String uri){
+    return DistributionSummary.builder(name).baseUnit(unit).tag("method", method).tag("uri", uri).register(registry);
+  }
+}
@@ -0,0 +1,40 @@
+// config/SalesRollupInitializer.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.repository.SalesRollupRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Backfills the sales rollups from existing bills the first time the app starts with empty rollup tables;
+ * from then on {@code SalesRollupUpdater} keeps them current.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SalesRollupInitializer {
+  private final SalesRollupRepository rollups;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+
+  public SalesRollupInitializer(SalesRollupRepository rollups, JdbcTemplate jdbc, PlatformTransactionManager txManager){
+    this.rollups = rollups;
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(txManager);
+  }
+
+  @PostConstruct
+  void backfillIfEmpty(){
+    if(!rollups.isEmpty()) return;
+    Long bills = jdbc.queryForObject("SELECT COUNT(*) FROM bills", Long.class);
+    if(bills == null || bills == 0) return;
+
+    tx.executeWithoutResult(status -> rollups.rebuild());
+    log.info("Rebuilt sales rollups from {} existing bills", bills);
+  }
+}
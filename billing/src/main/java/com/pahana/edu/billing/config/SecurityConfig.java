@@ -2,6 +2,7 @@
 package com.pahana.edu.billing.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,19 +28,23 @@ import java.util.Arrays;
 public class SecurityConfig {
 
   @Bean
-  SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  SecurityFilterChain filterChain(HttpSecurity http, JwtService jwtService, TokenRevocations revocations) throws Exception {
     return http
         .csrf(csrf -> csrf.disable())
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+        .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
             .anyRequest().permitAll()  // Allow EVERYTHING
         )
-        .build(); // No JWT filter added
+        // identifies the caller from the bearer token without a database lookup
+        .addFilterBefore(new JwtAuthFilter(jwtService, revocations), UsernamePasswordAuthenticationFilter.class)
+        .build();
   }
 
   @Bean 
-  PasswordEncoder passwordEncoder() { 
-    return new BCryptPasswordEncoder(); 
+  PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) { 
+    // hashes stored at a lower cost are re-encoded on their next successful login
+    return new BCryptPasswordEncoder(strength); 
   }
   
   @Bean 
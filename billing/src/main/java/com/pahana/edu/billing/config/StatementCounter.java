@@ -0,0 +1,54 @@
+// config/StatementCounter.java
+package com.pahana.edu.billing.config;
+
+/**
+ * Counts the JDBC statements and entity loads issued by the current thread within a scope.
+ *
+ * <p>Scopes nest: a statement counts towards every open scope on the thread, so a per-request scope and an
+ * enclosing one (a test asserting on the same call, say) both see it. Fed by {@link StatementCountingDataSource}
+ * and the Hibernate post-load listener registered in {@link MetricsConfig}.
+ *
+ * <p>Only the opening thread is counted. Work a request hands to another thread (the BCrypt check of a login,
+ * the {@code WebAsyncTask} of a bill export, background receipt rendering) is not attributed to its scope, so
+ * those routes under-report.
+ */
+public final class StatementCounter {
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private StatementCounter(){}
+
+  public static final class Scope implements AutoCloseable {
+    private final Scope parent;
+    private long statements;
+    private long entityLoads;
+    private boolean closed;
+
+    private Scope(Scope parent){ this.parent = parent; }
+
+    public long statements(){ return statements; }
+    public long entityLoads(){ return entityLoads; }
+
+    @Override public void close(){
+      if(closed) return;
+      closed = true;
+      if(CURRENT.get() == this){
+        if(parent == null) CURRENT.remove();
+        else CURRENT.set(parent);
+      }
+    }
+  }
+
+  public static Scope open(){
+    var scope = new Scope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  static void statement(){
+    for(var s = CURRENT.get(); s != null; s = s.parent) s.statements++;
+  }
+
+  static void entityLoad(){
+    for(var s = CURRENT.get(); s != null; s = s.parent) s.entityLoads++;
+  }
+}
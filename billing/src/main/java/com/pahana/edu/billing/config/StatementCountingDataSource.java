@@ -0,0 +1,49 @@
+// config/StatementCountingDataSource.java
+package com.pahana.edu.billing.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Hands out connections that report every statement they prepare or create to {@link StatementCounter}, whoever
+ * issues it (Hibernate, JdbcTemplate or a native query). A JDBC batch counts once, as it is one round trip.
+ * {@code unwrap} still reaches the pool, so pool metrics keep working.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+  private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+  public StatementCountingDataSource(DataSource target){ super(target); }
+
+  @Override public Connection getConnection() throws SQLException {
+    return counting(super.getConnection());
+  }
+
+  @Override public Connection getConnection(String username, String password) throws SQLException {
+    return counting(super.getConnection(username, password));
+  }
+
+  private static Connection counting(Connection target){
+    return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+        new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+          switch(method.getName()){
+            case "equals" -> { return proxy == args[0]; }
+            case "hashCode" -> { return System.identityHashCode(proxy); }
+            case "getTargetConnection" -> { return target; }
+            default -> {
+              if(STATEMENT_FACTORIES.contains(method.getName())) StatementCounter.statement();
+            }
+          }
+          try {
+            return method.invoke(target, args);
+          } catch(InvocationTargetException ex) {
+            throw ex.getCause();
+          }
+        });
+  }
+}
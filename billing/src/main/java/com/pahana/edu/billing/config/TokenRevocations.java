@@ -0,0 +1,49 @@
+// config/TokenRevocations.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of {@code users.token_version} for the users that have one, so {@link JwtAuthFilter} can reject
+ * revoked tokens without touching the database. A token is current while the version it was issued with is at
+ * least the user's stored version.
+ *
+ * <p>The map is replaced wholesale every {@code app.security.revocation-refresh-ms}; a revocation made on this
+ * instance applies at once, one made on another instance within one refresh. Changing a user's role should bump
+ * the version too, since tokens carry the role they were issued with.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocations {
+  private final UserRepository userRepo;
+  private volatile Map<String, Integer> versions = Map.of();
+
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${app.security.revocation-refresh-ms:30000}",
+      initialDelayString = "${app.security.revocation-refresh-ms:30000}")
+  public void refresh(){
+    versions = userRepo.findRevokedTokenVersions().stream().collect(Collectors.toUnmodifiableMap(
+        UserRepository.TokenVersion::getUsername, UserRepository.TokenVersion::getTokenVersion));
+  }
+
+  public boolean isCurrent(Claims claims){
+    var issued = claims.get(JwtService.VERSION_CLAIM, Integer.class);
+    return (issued == null ? 0 : issued) >= versions.getOrDefault(claims.getSubject(), 0);
+  }
+
+  /** Invalidates every token issued to {@code username} so far. */
+  public void revokeAll(String username){
+    if(userRepo.incrementTokenVersion(username) == 0) return;
+    refresh();
+    log.info("Revoked all tokens of {}", username);
+  }
+}
@@ -0,0 +1,32 @@
+// config/TopItemsInitializer.java
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.repository.BillItemRepository;
+import com.pahana.edu.billing.service.support.TopItemsTracker;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+
+/**
+ * Seeds {@link TopItemsTracker} from {@code bill_items} on startup, one grouped query over the tracked days;
+ * after that it is fed by committed bills only.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class TopItemsInitializer {
+  private final TopItemsTracker tracker;
+  private final BillItemRepository billItems;
+
+  @PostConstruct
+  void rebuild(){
+    var today = LocalDate.now();
+    var rows = billItems.dailyQuantities(today.minusDays(tracker.maxDays() - 1L), today);
+    tracker.rebuild(rows, today);
+    log.info("Seeded top-items tracker with {} item-days", rows.size());
+  }
+}
@@ -0,0 +1,10 @@
+package com.pahana.edu.billing.domain.dto.bill;
+import java.util.List;
+
+// Per-bill results of POST /api/bills/batch, in request order
+public record BillBatchResponse(int succeeded, int failed, List<BillBatchResult> results) {
+  public static BillBatchResponse of(List<BillBatchResult> results){
+    int ok = (int) results.stream().filter(BillBatchResult::success).count();
+    return new BillBatchResponse(ok, results.size() - ok, results);
+  }
+}
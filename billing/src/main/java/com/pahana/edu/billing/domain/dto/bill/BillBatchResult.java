@@ -0,0 +1,7 @@
+package com.pahana.edu.billing.domain.dto.bill;
+
+// Outcome of one bill of a batch; index is its position in the request, bill is null when it failed
+public record BillBatchResult(int index, boolean success, BillResponse bill, String error) {
+  public static BillBatchResult ok(int index, BillResponse bill){ return new BillBatchResult(index, true, bill, null); }
+  public static BillBatchResult failed(int index, String error){ return new BillBatchResult(index, false, null, error); }
+}
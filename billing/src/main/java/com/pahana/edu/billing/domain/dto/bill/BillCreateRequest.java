@@ -1,8 +1,10 @@
 package com.pahana.edu.billing.domain.dto.bill;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 import java.util.List;
 
-public record BillCreateRequest(@NotNull Long customerId, @NotBlank String billNumber,
-                                LocalDate billDate, @NotNull List<BillItemRequest> items) {
+// billNumber is optional: when blank the server allocates one (see BillNumberAllocator)
+public record BillCreateRequest(@NotNull Long customerId, @Size(max = 30) String billNumber,
+                                LocalDate billDate, @NotNull List<@Valid BillItemRequest> items) {
 }
\ No newline at end of file
@@ -2,4 +2,4 @@
 package com.pahana.edu.billing.domain.dto.bill;
 import jakarta.validation.constraints.*;
 
-public record BillItemRequest(@NotNull Long itemId, @NotNull Integer quantity, Double unitPrice) {}
\ No newline at end of file
+public record BillItemRequest(@NotNull Long itemId, @NotNull @Positive Integer quantity, Double unitPrice) {}
\ No newline at end of file
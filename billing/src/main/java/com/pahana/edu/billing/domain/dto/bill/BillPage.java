@@ -0,0 +1,5 @@
+package com.pahana.edu.billing.domain.dto.bill;
+import java.util.List;
+
+// One keyset page of bills; nextCursor is null on the last page
+public record BillPage(List<BillResponse> items, String nextCursor) {}
@@ -0,0 +1,8 @@
+package com.pahana.edu.billing.domain.dto.bill;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import java.time.LocalDate;
+
+// Filters for GET /api/bills/search; null fields are ignored, billNumber matches as a prefix
+public record BillSearchCriteria(String billNumber, Long customerId, LocalDate from, LocalDate to,
+                                 Double minAmount, Double maxAmount, PaymentStatus status) {
+}
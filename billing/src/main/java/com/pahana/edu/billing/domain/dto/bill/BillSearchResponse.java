@@ -0,0 +1,5 @@
+package com.pahana.edu.billing.domain.dto.bill;
+import java.util.List;
+
+// totals are only computed for the first page (no cursor) and are null on follow-up pages
+public record BillSearchResponse(List<BillResponse> items, String nextCursor, BillTotals totals) {}
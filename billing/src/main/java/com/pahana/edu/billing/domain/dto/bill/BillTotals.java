@@ -0,0 +1,5 @@
+package com.pahana.edu.billing.domain.dto.bill;
+
+// Aggregates over every bill matching a search, not just the returned page
+public record BillTotals(long billCount, double totalAmount, double taxAmount,
+                         double paidAmount, double pendingAmount) {}
@@ -0,0 +1,8 @@
+package com.pahana.edu.billing.domain.dto.customer;
+
+public record CustomerBalanceResponse(
+    Long customerId,
+    String accountNumber,
+    double outstandingBalance,
+    double lifetimeSpend
+) {}
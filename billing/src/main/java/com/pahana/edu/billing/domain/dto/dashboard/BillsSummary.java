@@ -0,0 +1,5 @@
+package com.pahana.edu.billing.domain.dto.dashboard;
+
+// All-time bill counts and amounts, read from the payment-status rollup
+public record BillsSummary(long totalBills, long pendingBills, long paidBills, long cancelledBills,
+                           double totalAmount, double paidAmount, double pendingAmount) {}
@@ -0,0 +1,4 @@
+package com.pahana.edu.billing.domain.dto.dashboard;
+import java.time.LocalDate;
+
+public record DailySales(LocalDate date, long billCount, double totalAmount, double taxAmount) {}
@@ -0,0 +1,7 @@
+package com.pahana.edu.billing.domain.dto.dashboard;
+import com.pahana.edu.billing.domain.dto.item.ItemResponse;
+import java.util.List;
+
+// Everything the dashboard shows; lastSevenDays is oldest first and only lists days with sales
+public record DashboardStats(long totalCustomers, long totalItems, List<ItemResponse> lowStockItems,
+                             BillsSummary bills, List<DailySales> lastSevenDays, List<ItemSales> topItems) {}
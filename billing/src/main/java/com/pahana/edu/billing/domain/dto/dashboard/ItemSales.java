@@ -0,0 +1,4 @@
+package com.pahana.edu.billing.domain.dto.dashboard;
+
+// itemName is resolved from the catalog cache and may be null for deleted items
+public record ItemSales(Long itemId, String itemName, long quantitySold, double revenue) {}
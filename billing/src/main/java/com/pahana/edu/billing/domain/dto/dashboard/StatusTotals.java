@@ -0,0 +1,4 @@
+package com.pahana.edu.billing.domain.dto.dashboard;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+
+public record StatusTotals(PaymentStatus status, long billCount, double totalAmount) {}
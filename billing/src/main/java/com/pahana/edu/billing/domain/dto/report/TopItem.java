@@ -0,0 +1,4 @@
+package com.pahana.edu.billing.domain.dto.report;
+
+// quantitySold is an upper bound: the true figure lies within maxOverestimate below it
+public record TopItem(Long itemId, String itemName, long quantitySold, long maxOverestimate) {}
@@ -0,0 +1,6 @@
+package com.pahana.edu.billing.domain.dto.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TopItemsResponse(LocalDate from, LocalDate to, List<TopItem> items) {}
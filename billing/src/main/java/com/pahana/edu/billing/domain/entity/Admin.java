@@ -7,7 +7,9 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity @Table(name = "admins")
 public class Admin {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "admin_ids")
+  @TableGenerator(name = "admin_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "admins", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long adminId;
 
   @OneToOne
@@ -4,23 +4,34 @@ package com.pahana.edu.billing.domain.entity;
 import com.pahana.edu.billing.domain.enums.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-@Entity @Table(name = "bills")
+@Entity @Table(name = "bills", indexes = {
+  // keyset pagination: GET /api/bills and GET /api/bills?customerId=
+  @Index(name = "idx_bills_date_id", columnList = "billDate, billId"),
+  @Index(name = "idx_bills_customer_date_id", columnList = "customer_id, billDate, billId"),
+  // GET /api/bills/search; bill_number prefix matches use the unique index on billNumber
+  @Index(name = "idx_bills_date_status", columnList = "billDate, paymentStatus")
+})
 public class Bill {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "bill_ids")
+  @TableGenerator(name = "bill_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "bills", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long billId;
 
   @Column(nullable=false, unique=true, length=30)
   private String billNumber;
 
-  @ManyToOne @JoinColumn(name="customer_id", nullable=false)
+  @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name="customer_id", nullable=false)
   private Customer customer;
 
+  // part of every keyset cursor, see BillCursor
+  @Column(nullable=false)
   private LocalDate billDate;
 
   @Column(nullable=false) private Double totalAmount;
@@ -31,7 +42,9 @@ public class Bill {
   @Builder.Default
   private PaymentStatus paymentStatus = PaymentStatus.PENDING;
 
+  // listings fetch this eagerly through BillRepository's entity graphs; the batch size covers the rest
   @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, orphanRemoval = true)
+  @BatchSize(size = 100)
   @Builder.Default
   private List<BillItem> items = new ArrayList<>();
 }
@@ -7,13 +7,15 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity @Table(name = "bill_items")
 public class BillItem {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "bill_item_ids")
+  @TableGenerator(name = "bill_item_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "bill_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long billItemId;
 
-  @ManyToOne @JoinColumn(name="bill_id", nullable=false)
+  @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name="bill_id", nullable=false)
   private Bill bill;
 
-  @ManyToOne @JoinColumn(name="item_id", nullable=false)
+  @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name="item_id", nullable=false)
   private Item item;
 
   @Column(nullable=false) private Integer quantity;
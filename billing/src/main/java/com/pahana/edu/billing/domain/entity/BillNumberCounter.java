@@ -0,0 +1,16 @@
+// domain/entity/BillNumberCounter.java
+package com.pahana.edu.billing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Next unleased bill number per prefix; rows are only touched by {@code BillNumberAllocator}. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "bill_number_counters")
+public class BillNumberCounter {
+  @Id @Column(length=40)
+  private String counterKey;
+
+  @Column(nullable=false)
+  private Long nextValue;
+}
@@ -10,7 +10,9 @@ import java.util.List;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity @Table(name = "customers")
 public class Customer {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "customer_ids")
+  @TableGenerator(name = "customer_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "customers", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long customerId;
 
   @Column(nullable=false, unique=true, length=30)
@@ -24,6 +26,16 @@ public class Customer {
   private LocalDate registrationDate;
   private String status;
 
+  // running totals, moved only by CustomerRepository's atomic updates as bills are created and paid;
+  // not updatable from the entity so a stale copy can never write an old total back
+  @Builder.Default
+  @Column(nullable=false, updatable=false, columnDefinition = "double default 0")
+  private Double outstandingBalance = 0.0;
+
+  @Builder.Default
+  @Column(nullable=false, updatable=false, columnDefinition = "double default 0")
+  private Double lifetimeSpend = 0.0;
+
   @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
   private List<Bill> bills;
 }
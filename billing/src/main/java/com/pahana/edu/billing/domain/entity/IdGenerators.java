@@ -0,0 +1,17 @@
+// domain/entity/IdGenerators.java
+package com.pahana.edu.billing.domain.entity;
+
+/**
+ * Shared settings for the pooled table generators used by every entity id.
+ *
+ * <p>Ids are reserved {@link #ALLOCATION_SIZE} at a time from one row per table in {@code id_sequences}, so
+ * Hibernate knows the key before the INSERT and can JDBC-batch inserts (IDENTITY silently disables that).
+ */
+public final class IdGenerators {
+  public static final String TABLE = "id_sequences";
+  public static final String PK_COLUMN = "sequence_name";
+  public static final String VALUE_COLUMN = "next_val";
+  public static final int ALLOCATION_SIZE = 50;
+
+  private IdGenerators(){}
+}
@@ -0,0 +1,26 @@
+// domain/entity/IdempotencyKey.java
+package com.pahana.edu.billing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/** Idempotency-Key of a POST /api/bills and the bill it created; rows are only touched by {@code IdempotencyKeyStore}. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "idempotency_keys", indexes = {
+  @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+public class IdempotencyKey {
+  @Id @Column(length=100)
+  private String idempotencyKey;
+
+  @Column(nullable=false)
+  private Long billId;
+
+  // hex SHA-256 of the request body, so a key reused for a different bill is rejected
+  @Column(nullable=false, length=64)
+  private String requestDigest;
+
+  @Column(nullable=false)
+  private Instant createdAt;
+}
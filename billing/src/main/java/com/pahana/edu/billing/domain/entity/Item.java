@@ -7,7 +7,9 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity @Table(name = "items")
 public class Item {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_ids")
+  @TableGenerator(name = "item_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "items", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long itemId;
 
   @Column(nullable=false, unique=true, length=120)
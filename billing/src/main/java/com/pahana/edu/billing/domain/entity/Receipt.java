@@ -0,0 +1,24 @@
+// domain/entity/Receipt.java
+package com.pahana.edu.billing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/** Rendered receipt of one bill in every {@code ReceiptFormat}; written once by {@code ReceiptPipeline}. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "receipts")
+public class Receipt {
+  @Id
+  private Long billId;
+
+  // UTF-8 text laid out for 42-column thermal printers
+  @Lob @Column(nullable=false)
+  private byte[] textBody;
+
+  @Lob @Column(nullable=false)
+  private byte[] pdfBody;
+
+  @Column(nullable=false)
+  private Instant renderedAt;
+}
@@ -0,0 +1,30 @@
+// domain/entity/SalesDayRollup.java
+package com.pahana.edu.billing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Bills and revenue per bill date, spread over a few {@code shard} rows that are summed on read; maintained by
+ * {@code SalesRollupRepository} in the billing transaction.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "sales_day_rollups") @IdClass(SalesDayRollup.Key.class)
+public class SalesDayRollup {
+  @Id
+  private LocalDate salesDate;
+  @Id
+  private Integer shard;
+
+  @Column(nullable=false) private Long billCount;
+  @Column(nullable=false) private Double totalAmount;
+  @Column(nullable=false) private Double taxAmount;
+
+  @Data @NoArgsConstructor @AllArgsConstructor
+  public static class Key implements Serializable {
+    private LocalDate salesDate;
+    private Integer shard;
+  }
+}
@@ -0,0 +1,18 @@
+// domain/entity/SalesItemRollup.java
+package com.pahana.edu.billing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Units sold and line revenue (before tax) per item; maintained by {@code SalesRollupRepository}. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "sales_item_rollups", indexes = {
+  @Index(name = "idx_sales_item_rollups_revenue", columnList = "revenue")
+})
+public class SalesItemRollup {
+  @Id
+  private Long itemId;
+
+  @Column(nullable=false) private Long quantitySold;
+  @Column(nullable=false) private Double revenue;
+}
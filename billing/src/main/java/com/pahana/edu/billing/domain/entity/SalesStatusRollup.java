@@ -0,0 +1,29 @@
+// domain/entity/SalesStatusRollup.java
+package com.pahana.edu.billing.domain.entity;
+
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+
+/**
+ * Bill count and amount per payment status, spread over a few {@code shard} rows that are summed on read;
+ * maintained by {@code SalesRollupRepository}.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "sales_status_rollups") @IdClass(SalesStatusRollup.Key.class)
+public class SalesStatusRollup {
+  @Id @Enumerated(EnumType.STRING) @Column(length=20)
+  private PaymentStatus paymentStatus;
+  @Id
+  private Integer shard;
+
+  @Column(nullable=false) private Long billCount;
+  @Column(nullable=false) private Double totalAmount;
+
+  @Data @NoArgsConstructor @AllArgsConstructor
+  public static class Key implements Serializable {
+    private PaymentStatus paymentStatus;
+    private Integer shard;
+  }
+}
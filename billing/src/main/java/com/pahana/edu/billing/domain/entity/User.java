@@ -10,7 +10,9 @@ import java.time.Instant;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity @Table(name = "users")
 public class User {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_ids")
+  @TableGenerator(name = "user_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+      valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "users", allocationSize = IdGenerators.ALLOCATION_SIZE)
   private Long userId;
 
   @Column(nullable=false, unique=true, length=50)
@@ -29,6 +31,11 @@ public class User {
   @Column(nullable=false)
   private Instant createdDate;
 
+  // bumped to invalidate every token issued so far; tokens carry the value they were issued with
+  @Builder.Default
+  @Column(nullable=false, columnDefinition="int default 0")
+  private Integer tokenVersion = 0;
+
   @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
   private Admin admin;
 
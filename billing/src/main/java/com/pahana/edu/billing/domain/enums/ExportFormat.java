@@ -0,0 +1,29 @@
+// domain/enums/ExportFormat.java
+package com.pahana.edu.billing.domain.enums;
+
+import com.pahana.edu.billing.exception.BadRequestException;
+import java.util.Locale;
+
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String extension;
+
+  ExportFormat(String contentType, String extension){
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String contentType(){ return contentType; }
+  public String extension(){ return extension; }
+
+  public static ExportFormat from(String value){
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch(IllegalArgumentException ex) {
+      throw new BadRequestException("Unsupported export format: " + value);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+// domain/enums/ReceiptFormat.java
+package com.pahana.edu.billing.domain.enums;
+
+import com.pahana.edu.billing.exception.BadRequestException;
+import java.util.Locale;
+
+public enum ReceiptFormat {
+  TEXT("text/plain;charset=UTF-8", "txt"),
+  PDF("application/pdf", "pdf");
+
+  private final String contentType;
+  private final String extension;
+
+  ReceiptFormat(String contentType, String extension){
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String contentType(){ return contentType; }
+  public String extension(){ return extension; }
+
+  public static ReceiptFormat from(String value){
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch(IllegalArgumentException ex) {
+      throw new BadRequestException("Unsupported receipt format: " + value);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package com.pahana.edu.billing.domain.event;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+
+// Published inside the creating transaction by POST /api/bills and the batch ingest, once per bill
+public record BillCreatedEvent(BillResponse bill) {}
@@ -0,0 +1,6 @@
+package com.pahana.edu.billing.domain.event;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+
+// Published inside the markPaid transaction when a bill actually changes to PAID
+public record BillPaidEvent(BillResponse bill, PaymentStatus previousStatus) {}
@@ -0,0 +1,6 @@
+package com.pahana.edu.billing.exception;
+
+/** The request cannot be served as sent, e.g. not enough stock or a malformed cursor; answered with 400 and the message. */
+public class BadRequestException extends RuntimeException {
+  public BadRequestException(String msg){ super(msg); }
+}
@@ -1,8 +1,13 @@
 // exception/GlobalExceptionHandler.java
 package com.pahana.edu.billing.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.*;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +27,39 @@ public class GlobalExceptionHandler {
         .body(Map.of("message", ex.getMessage()));
   }
 
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<Map<String, String>> badRequest(BadRequestException ex){
+    return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<Map<String, String>> conflict(DataIntegrityViolationException ex){
+    // e.g. a client-supplied billNumber that is already taken
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(Map.of("message", "Conflicting or duplicate data"));
+  }
+
+  @ExceptionHandler(PessimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, String>> lockConflict(PessimisticLockingFailureException ex){
+    // deadlock victim or lock wait timeout on hot stock rows; nothing was committed, so the till can retry
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of("message", "Busy, please retry"));
+  }
+
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<Map<String, String>> poolExhausted(CannotCreateTransactionException ex){
+    // no pooled connection within the Hikari timeout; with virtual threads this is where excess load queues
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of("message", "Busy, please retry"));
+  }
+
+  @ExceptionHandler(ServiceBusyException.class)
+  public ResponseEntity<Map<String, String>> busy(ServiceBusyException ex){
+    // load shed before any work was done, e.g. the login pool is full at opening time
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of("message", ex.getMessage()));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<?> validation(MethodArgumentNotValidException ex){
     var errors = ex.getBindingResult().getFieldErrors()
@@ -29,6 +67,18 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest().body(Map.of("errors", errors));
   }
 
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<Map<String, String>> unreadable(HttpMessageNotReadableException ex){
+    // malformed JSON is the client's fault, not ours
+    return ResponseEntity.badRequest().body(Map.of("message", "Malformed request body"));
+  }
+
+  @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+  public ResponseEntity<Map<String, String>> unsupportedMediaType(HttpMediaTypeNotSupportedException ex){
+    return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+        .body(Map.of("message", "Unsupported content type"));
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, String>> handleOther(Exception ex) {
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,6 @@
+package com.pahana.edu.billing.exception;
+
+/** Work was shed because a bounded pool is saturated; nothing was done, so the client can retry shortly. */
+public class ServiceBusyException extends RuntimeException {
+  public ServiceBusyException(String msg){ super(msg); }
+}
@@ -2,7 +2,25 @@
 package com.pahana.edu.billing.repository;
 import com.pahana.edu.billing.domain.entity.BillItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
 
 @Repository
-public interface BillItemRepository extends JpaRepository<BillItem, Long> { }
\ No newline at end of file
+public interface BillItemRepository extends JpaRepository<BillItem, Long> {
+
+  interface DailyItemQuantity {
+    LocalDate getBillDate();
+    Long getItemId();
+    String getItemName();
+    Long getQuantity();
+  }
+
+  // units sold per item and bill date; only used to seed TopItemsTracker at startup
+  @Query("select b.billDate as billDate, it.itemId as itemId, it.itemName as itemName, sum(bi.quantity) as quantity " +
+         "from BillItem bi join bi.bill b join bi.item it where b.billDate between :from and :to " +
+         "group by b.billDate, it.itemId, it.itemName")
+  List<DailyItemQuantity> dailyQuantities(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
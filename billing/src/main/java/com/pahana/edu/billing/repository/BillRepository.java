@@ -1,12 +1,62 @@
 // repository/BillRepository.java
 package com.pahana.edu.billing.repository;
 import com.pahana.edu.billing.domain.entity.Bill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface BillRepository extends JpaRepository<Bill, Long> {
+public interface BillRepository extends JpaRepository<Bill, Long>, BillSearchOperations {
+  // customer, lines and their items in one query, so mapping to BillResponse never lazy-loads
+  @EntityGraph(attributePaths = {"customer", "items", "items.item"})
   List<Bill> findByCustomer_CustomerId(Long customerId);
-  boolean existsByBillNumber(String billNumber);
-}
\ No newline at end of file
+
+  @EntityGraph(attributePaths = {"customer", "items", "items.item"})
+  @Query("select b from Bill b")
+  List<Bill> findAllWithDetails();
+
+  // Bulk duplicate check for POST /api/bills/batch, one IN query per chunk
+  @Query("select b.billNumber from Bill b where b.billNumber in :numbers")
+  Set<String> findExistingBillNumbers(@Param("numbers") Collection<String> numbers);
+
+  // Forward-only cursor for exports: rows arrive in fetch-size batches instead of one big result list
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select b from Bill b join fetch b.customer order by b.billId")
+  Stream<Bill> streamAllForExport();
+
+  // Keyset pages ordered by (billDate desc, billId desc); lines are batch-fetched per page via @BatchSize
+  @Query("select b from Bill b join fetch b.customer order by b.billDate desc, b.billId desc")
+  List<Bill> findPage(Pageable page);
+
+  @Query("""
+      select b from Bill b join fetch b.customer
+      where b.billDate < :billDate or (b.billDate = :billDate and b.billId < :billId)
+      order by b.billDate desc, b.billId desc""")
+  List<Bill> findPageAfter(@Param("billDate") LocalDate billDate, @Param("billId") Long billId, Pageable page);
+
+  @Query("""
+      select b from Bill b join fetch b.customer c where c.customerId = :customerId
+      order by b.billDate desc, b.billId desc""")
+  List<Bill> findCustomerPage(@Param("customerId") Long customerId, Pageable page);
+
+  @Query("""
+      select b from Bill b join fetch b.customer c where c.customerId = :customerId
+        and (b.billDate < :billDate or (b.billDate = :billDate and b.billId < :billId))
+      order by b.billDate desc, b.billId desc""")
+  List<Bill> findCustomerPageAfter(@Param("customerId") Long customerId, @Param("billDate") LocalDate billDate,
+                                   @Param("billId") Long billId, Pageable page);
+}
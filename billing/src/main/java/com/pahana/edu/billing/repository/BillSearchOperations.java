@@ -0,0 +1,16 @@
+// repository/BillSearchOperations.java
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.dto.bill.BillSearchCriteria;
+import com.pahana.edu.billing.domain.dto.bill.BillTotals;
+import com.pahana.edu.billing.domain.entity.Bill;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Dynamic bill search that only emits predicates for the filters actually supplied. */
+public interface BillSearchOperations {
+  /** Matching bills with their customer, newest first, strictly after the given keyset position if any. */
+  List<Bill> search(BillSearchCriteria criteria, LocalDate afterDate, Long afterId, int limit);
+
+  BillTotals totals(BillSearchCriteria criteria);
+}
@@ -0,0 +1,82 @@
+// repository/BillSearchOperationsImpl.java
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.dto.bill.BillSearchCriteria;
+import com.pahana.edu.billing.domain.dto.bill.BillTotals;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.util.StringUtils;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BillSearchOperationsImpl implements BillSearchOperations {
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public List<Bill> search(BillSearchCriteria c, LocalDate afterDate, Long afterId, int limit){
+    var cb = em.getCriteriaBuilder();
+    var q = cb.createQuery(Bill.class);
+    var b = q.from(Bill.class);
+    b.fetch("customer");
+
+    var where = predicates(cb, b, c);
+    if(afterDate != null){
+      where.add(cb.or(cb.lessThan(b.<LocalDate>get("billDate"), afterDate),
+          cb.and(cb.equal(b.get("billDate"), afterDate), cb.lessThan(b.<Long>get("billId"), afterId))));
+    }
+    q.select(b).where(where.toArray(Predicate[]::new))
+        .orderBy(cb.desc(b.get("billDate")), cb.desc(b.get("billId")));
+    return em.createQuery(q).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public BillTotals totals(BillSearchCriteria c){
+    var cb = em.getCriteriaBuilder();
+    var q = cb.createTupleQuery();
+    var b = q.from(Bill.class);
+    Expression<Double> total = b.get("totalAmount");
+    // typed literals rather than bound parameters: an untyped ? inside CASE/COALESCE is rejected by H2
+    var zero = cb.literal(0.0);
+
+    q.multiselect(
+        cb.count(b),
+        cb.coalesce(cb.sum(total), zero),
+        cb.coalesce(cb.sum(b.<Double>get("taxAmount")), zero),
+        cb.coalesce(cb.sum(amountIf(cb, b, PaymentStatus.PAID, total)), zero),
+        cb.coalesce(cb.sum(amountIf(cb, b, PaymentStatus.PENDING, total)), zero))
+      .where(predicates(cb, b, c).toArray(Predicate[]::new));
+
+    var t = em.createQuery(q).getSingleResult();
+    return new BillTotals(t.get(0, Long.class), t.get(1, Double.class), t.get(2, Double.class),
+        t.get(3, Double.class), t.get(4, Double.class));
+  }
+
+  private static Expression<Double> amountIf(CriteriaBuilder cb, Root<Bill> b, PaymentStatus status,
+                                             Expression<Double> amount){
+    return cb.<Double>selectCase().when(cb.equal(b.get("paymentStatus"), status), amount)
+        .otherwise(cb.literal(0.0));
+  }
+
+  // only filters that are present become predicates, so MySQL can pick the matching composite index
+  private static List<Predicate> predicates(CriteriaBuilder cb, Root<Bill> b, BillSearchCriteria c){
+    var where = new ArrayList<Predicate>();
+    if(StringUtils.hasText(c.billNumber()))
+      where.add(cb.like(b.<String>get("billNumber"), escapeLike(c.billNumber().trim()) + "%", '\\'));
+    if(c.customerId() != null) where.add(cb.equal(b.get("customer").get("customerId"), c.customerId()));
+    if(c.from() != null) where.add(cb.greaterThanOrEqualTo(b.<LocalDate>get("billDate"), c.from()));
+    if(c.to() != null) where.add(cb.lessThanOrEqualTo(b.<LocalDate>get("billDate"), c.to()));
+    if(c.minAmount() != null) where.add(cb.greaterThanOrEqualTo(b.<Double>get("totalAmount"), c.minAmount()));
+    if(c.maxAmount() != null) where.add(cb.lessThanOrEqualTo(b.<Double>get("totalAmount"), c.maxAmount()));
+    if(c.status() != null) where.add(cb.equal(b.get("paymentStatus"), c.status()));
+    return where;
+  }
+
+  private static String escapeLike(String s){
+    return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -0,0 +1,63 @@
+// repository/ConnectorJCursorFetch.java
+package com.pahana.edu.billing.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link CursorFetch} for MySQL Connector/J. The driver reads in fetch-size batches from a server-side cursor only
+ * with {@code useCursorFetch}, which needs server prepared statements; the shared URL sets neither, so both runtime
+ * properties are switched on for the transaction's connection and off again before it goes back to the pool.
+ * Other drivers, such as H2 in the perf profile, honour the fetch size as is and are left alone.
+ *
+ * <p>Connector/J stays a runtime dependency, so its property API is reached through its public interfaces by name.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectorJCursorFetch implements CursorFetch {
+  private static final String[] PROPERTIES = {"useServerPrepStmts", "useCursorFetch"};
+  private static final DriverApi DRIVER = DriverApi.load();
+
+  private final EntityManager em;
+
+  @Override
+  public Scope open(){
+    var session = em.unwrap(Session.class);
+    session.doWork(c -> set(c, true));
+    return () -> session.doWork(c -> set(c, false));
+  }
+
+  private static void set(Connection c, boolean on) throws SQLException {
+    if(DRIVER == null || !c.isWrapperFor(DRIVER.connection())) return;
+    DRIVER.set(c.unwrap(DRIVER.connection()), on);
+  }
+
+  // JdbcConnection.getPropertySet().getBooleanProperty(name).setValue(on), resolved once
+  private record DriverApi(Class<?> connection, Method propertySet, Method booleanProperty, Method setValue) {
+    static DriverApi load(){
+      try {
+        var connection = Class.forName("com.mysql.cj.jdbc.JdbcConnection");
+        var properties = Class.forName("com.mysql.cj.conf.PropertySet");
+        var property = Class.forName("com.mysql.cj.conf.RuntimeProperty");
+        return new DriverApi(connection, connection.getMethod("getPropertySet"),
+            properties.getMethod("getBooleanProperty", String.class), property.getMethod("setValue", Object.class));
+      } catch(ReflectiveOperationException ex) {
+        return null; // Connector/J is not on the classpath
+      }
+    }
+
+    void set(Object connection, boolean on) throws SQLException {
+      try {
+        var properties = propertySet.invoke(connection);
+        for(var name : PROPERTIES) setValue.invoke(booleanProperty.invoke(properties, name), on);
+      } catch(ReflectiveOperationException ex) {
+        throw new SQLException("Cannot switch cursor fetch on this Connector/J version", ex);
+      }
+    }
+  }
+}
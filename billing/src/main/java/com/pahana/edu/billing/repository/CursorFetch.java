@@ -0,0 +1,15 @@
+// repository/CursorFetch.java
+package com.pahana.edu.billing.repository;
+
+/**
+ * Lets a large forward-only read stream from a server-side cursor instead of the driver buffering the whole
+ * result. Only the connection of the current transaction is switched, and only until the returned scope closes.
+ */
+public interface CursorFetch {
+  Scope open();
+
+  /** Puts the connection back in its normal read mode. */
+  interface Scope extends AutoCloseable {
+    @Override void close();
+  }
+}
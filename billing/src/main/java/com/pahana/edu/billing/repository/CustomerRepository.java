@@ -2,10 +2,36 @@
 package com.pahana.edu.billing.repository;
 import com.pahana.edu.billing.domain.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
   Optional<Customer> findByAccountNumber(String accountNumber);
+
+  /** Adds a new (pending) bill's total to the customer's outstanding balance and lifetime spend. */
+  @Modifying
+  @Query(value = "UPDATE customers SET outstanding_balance = outstanding_balance + :amount, " +
+      "lifetime_spend = lifetime_spend + :amount WHERE customer_id = :customerId", nativeQuery = true)
+  int addBillTotal(@Param("customerId") Long customerId, @Param("amount") double amount);
+
+  /** Takes a paid bill's total off the customer's outstanding balance. */
+  @Modifying
+  @Query(value = "UPDATE customers SET outstanding_balance = outstanding_balance - :amount " +
+      "WHERE customer_id = :customerId", nativeQuery = true)
+  int settle(@Param("customerId") Long customerId, @Param("amount") double amount);
+
+  @Query(value = "SELECT COUNT(*) FROM customers WHERE lifetime_spend <> 0", nativeQuery = true)
+  long countWithSpend();
+
+  /** Recomputes every customer's totals from {@code bills}. */
+  @Modifying
+  @Query(value = "UPDATE customers c SET " +
+      "lifetime_spend = COALESCE((SELECT SUM(b.total_amount) FROM bills b WHERE b.customer_id = c.customer_id), 0), " +
+      "outstanding_balance = COALESCE((SELECT SUM(b.total_amount) FROM bills b " +
+      "WHERE b.customer_id = c.customer_id AND b.payment_status = 'PENDING'), 0)", nativeQuery = true)
+  int recomputeBalances();
 }
@@ -0,0 +1,24 @@
+// repository/IdempotencyKeyRepository.java
+package com.pahana.edu.billing.repository;
+import com.pahana.edu.billing.domain.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+  // plain INSERT: save() would merge (SELECT first) because the id is assigned; a concurrent duplicate fails on the PK
+  @Modifying
+  @Query(value = "insert into idempotency_keys (idempotency_key, bill_id, request_digest, created_at) " +
+                 "values (:key, :billId, :requestDigest, :createdAt)", nativeQuery = true)
+  void insert(@Param("key") String key, @Param("billId") Long billId,
+              @Param("requestDigest") String requestDigest, @Param("createdAt") Instant createdAt);
+
+  @Transactional @Modifying
+  @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+  int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
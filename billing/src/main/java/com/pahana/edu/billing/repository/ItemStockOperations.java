@@ -0,0 +1,21 @@
+// repository/ItemStockOperations.java
+package com.pahana.edu.billing.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+/** Set-based stock updates that bypass the per-entity load/save cycle. */
+public interface ItemStockOperations {
+  /**
+   * Decrements stock for every entry with one guarded UPDATE per item, sent as a single JDBC batch in item id
+   * order.
+   * @return ids of items whose guard failed because not enough stock was left
+   */
+  Set<Long> decrementStock(Map<Long, Integer> quantitiesByItemId);
+
+  /**
+   * Decrements stock without the guard, for sales that are already committed: a row that was edited below them
+   * goes negative rather than losing them. Sent as a single JDBC batch in item id order.
+   */
+  void forceDecrementStock(Map<Long, Integer> quantitiesByItemId);
+}
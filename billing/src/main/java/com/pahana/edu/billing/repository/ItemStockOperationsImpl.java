@@ -0,0 +1,51 @@
+// repository/ItemStockOperationsImpl.java
+package com.pahana.edu.billing.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ItemStockOperationsImpl implements ItemStockOperations {
+  private static final String DECREMENT_SQL =
+      "UPDATE items SET stock_quantity = stock_quantity - ? WHERE item_id = ? AND stock_quantity >= ?";
+  private static final String FORCE_DECREMENT_SQL =
+      "UPDATE items SET stock_quantity = stock_quantity - ? WHERE item_id = ?";
+
+  private final JdbcTemplate jdbc;
+
+  @Override
+  public Set<Long> decrementStock(Map<Long, Integer> quantitiesByItemId){
+    if(quantitiesByItemId.isEmpty()) return Set.of();
+
+    // ascending item_id, so concurrent bills lock the rows in the same order and cannot deadlock
+    var entries = new ArrayList<>(new TreeMap<>(quantitiesByItemId).entrySet());
+    int[] counts = jdbc.batchUpdate(DECREMENT_SQL, entries, entries.size(), (ps, e) -> {
+      ps.setInt(1, e.getValue());
+      ps.setLong(2, e.getKey());
+      ps.setInt(3, e.getValue());
+    })[0];
+
+    // 0 rows touched means the stock guard rejected the line; SUCCESS_NO_INFO (-2) is treated as applied
+    Set<Long> rejected = new LinkedHashSet<>();
+    for(int i = 0; i < counts.length; i++){
+      if(counts[i] == 0) rejected.add(entries.get(i).getKey());
+    }
+    return rejected;
+  }
+
+  @Override
+  public void forceDecrementStock(Map<Long, Integer> quantitiesByItemId){
+    if(quantitiesByItemId.isEmpty()) return;
+
+    var entries = new ArrayList<>(new TreeMap<>(quantitiesByItemId).entrySet());
+    jdbc.batchUpdate(FORCE_DECREMENT_SQL, entries, entries.size(), (ps, e) -> {
+      ps.setInt(1, e.getValue());
+      ps.setLong(2, e.getKey());
+    });
+  }
+}
@@ -0,0 +1,28 @@
+// repository/ReceiptRepository.java
+package com.pahana.edu.billing.repository;
+import com.pahana.edu.billing.domain.entity.Receipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
+  // plain INSERT like IdempotencyKeyRepository: the id is the bill's, and a second render of the same bill fails on the PK
+  @Transactional @Modifying
+  @Query(value = "insert into receipts (bill_id, text_body, pdf_body, rendered_at) " +
+                 "values (:billId, :textBody, :pdfBody, :renderedAt)", nativeQuery = true)
+  void insert(@Param("billId") Long billId, @Param("textBody") byte[] textBody,
+              @Param("pdfBody") byte[] pdfBody, @Param("renderedAt") Instant renderedAt);
+
+  // one column each, so serving a text receipt never reads the PDF
+  @Query("select r.textBody from Receipt r where r.billId = :billId")
+  Optional<byte[]> findTextBody(@Param("billId") Long billId);
+
+  @Query("select r.pdfBody from Receipt r where r.billId = :billId")
+  Optional<byte[]> findPdfBody(@Param("billId") Long billId);
+}
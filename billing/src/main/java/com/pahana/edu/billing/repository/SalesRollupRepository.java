@@ -0,0 +1,123 @@
+// repository/SalesRollupRepository.java
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.dto.dashboard.DailySales;
+import com.pahana.edu.billing.domain.dto.dashboard.ItemSales;
+import com.pahana.edu.billing.domain.dto.dashboard.StatusTotals;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Incremental upserts into the sales rollup tables ({@code sales_day_rollups}, {@code sales_item_rollups},
+ * {@code sales_status_rollups}) and the reads behind {@code GET /api/dashboard/stats}.
+ *
+ * <p>Writes run in the caller's transaction and hold their row locks until it commits. Every bill of a day, and
+ * every bill of a status, would otherwise land on the same row and checkouts would queue behind each other there,
+ * so the day and status totals are split over {@link #SHARDS} rows, each write picks one at random and reads sum
+ * them. Item rows are left whole: only bills selling the same item contend on one. Rows are always touched in the
+ * same order (day, status, items by id) so concurrent bills never deadlock.
+ *
+ * <p>The upserts bind each delta twice rather than read it back with {@code VALUES(col)}, which MySQL 8.0.20
+ * deprecates; the {@code INSERT ... AS new} row alias that replaces it is not understood by H2, which the tests
+ * and the perf profile run on.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepository {
+  static final int SHARDS = 8;
+
+  private static final String DAY_UPSERT =
+      "INSERT INTO sales_day_rollups (sales_date, shard, bill_count, total_amount, tax_amount) VALUES (?, ?, ?, ?, ?) " +
+      "ON DUPLICATE KEY UPDATE bill_count = bill_count + ?, total_amount = total_amount + ?, tax_amount = tax_amount + ?";
+  private static final String STATUS_UPSERT =
+      "INSERT INTO sales_status_rollups (payment_status, shard, bill_count, total_amount) VALUES (?, ?, ?, ?) " +
+      "ON DUPLICATE KEY UPDATE bill_count = bill_count + ?, total_amount = total_amount + ?";
+  private static final String ITEM_UPSERT =
+      "INSERT INTO sales_item_rollups (item_id, quantity_sold, revenue) VALUES (?, ?, ?) " +
+      "ON DUPLICATE KEY UPDATE quantity_sold = quantity_sold + ?, revenue = revenue + ?";
+
+  private final JdbcTemplate jdbc;
+
+  /** Units and revenue of one bill's lines for one item. */
+  public record ItemDelta(long quantity, double revenue) {}
+
+  public void addBill(LocalDate billDate, PaymentStatus status, double totalAmount, double taxAmount,
+                      Map<Long, ItemDelta> items){
+    jdbc.update(DAY_UPSERT, Date.valueOf(billDate), shard(), 1, totalAmount, taxAmount, 1, totalAmount, taxAmount);
+    updateStatus(status, 1, totalAmount);
+    if(items.isEmpty()) return;
+    var ordered = new ArrayList<>(new TreeMap<>(items).entrySet());
+    jdbc.batchUpdate(ITEM_UPSERT, ordered, ordered.size(), (ps, e) -> {
+      ps.setLong(1, e.getKey());
+      ps.setLong(2, e.getValue().quantity());
+      ps.setDouble(3, e.getValue().revenue());
+      ps.setLong(4, e.getValue().quantity());
+      ps.setDouble(5, e.getValue().revenue());
+    });
+  }
+
+  public void moveStatus(PaymentStatus from, PaymentStatus to, double totalAmount){
+    // fixed enum order, whichever direction the bill moves
+    var first = from.compareTo(to) < 0 ? from : to;
+    var second = first == from ? to : from;
+    for(var status : List.of(first, second)){
+      int sign = status == to ? 1 : -1;
+      updateStatus(status, sign, sign * totalAmount);
+    }
+  }
+
+  private void updateStatus(PaymentStatus status, int bills, double amount){
+    jdbc.update(STATUS_UPSERT, status.name(), shard(), bills, amount, bills, amount);
+  }
+
+  // a single shard row may go negative when bills move out of a status; only the sums are meaningful
+  private static int shard(){
+    return ThreadLocalRandom.current().nextInt(SHARDS);
+  }
+
+  public List<StatusTotals> statusTotals(){
+    return jdbc.query("SELECT payment_status, SUM(bill_count), SUM(total_amount) FROM sales_status_rollups " +
+            "GROUP BY payment_status",
+        (rs, i) -> new StatusTotals(PaymentStatus.valueOf(rs.getString(1)), rs.getLong(2), rs.getDouble(3)));
+  }
+
+  public List<DailySales> daily(LocalDate from, LocalDate to){
+    return jdbc.query("SELECT sales_date, SUM(bill_count), SUM(total_amount), SUM(tax_amount) FROM sales_day_rollups " +
+            "WHERE sales_date BETWEEN ? AND ? GROUP BY sales_date ORDER BY sales_date",
+        (rs, i) -> new DailySales(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getDouble(3), rs.getDouble(4)),
+        Date.valueOf(from), Date.valueOf(to));
+  }
+
+  /** Best sellers by revenue; item names are left for the caller to fill in. */
+  public List<ItemSales> topItems(int limit){
+    return jdbc.query("SELECT item_id, quantity_sold, revenue FROM sales_item_rollups ORDER BY revenue DESC LIMIT ?",
+        (rs, i) -> new ItemSales(rs.getLong(1), null, rs.getLong(2), rs.getDouble(3)), limit);
+  }
+
+  public boolean isEmpty(){
+    Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM sales_status_rollups", Integer.class);
+    return rows == null || rows == 0;
+  }
+
+  /** Recomputes every rollup from {@code bills} and {@code bill_items}; run inside one transaction. */
+  public void rebuild(){
+    jdbc.update("DELETE FROM sales_day_rollups");
+    jdbc.update("DELETE FROM sales_status_rollups");
+    jdbc.update("DELETE FROM sales_item_rollups");
+    jdbc.update("INSERT INTO sales_day_rollups (sales_date, shard, bill_count, total_amount, tax_amount) " +
+        "SELECT bill_date, 0, COUNT(*), SUM(total_amount), SUM(tax_amount) FROM bills WHERE bill_date IS NOT NULL GROUP BY bill_date");
+    jdbc.update("INSERT INTO sales_status_rollups (payment_status, shard, bill_count, total_amount) " +
+        "SELECT payment_status, 0, COUNT(*), SUM(total_amount) FROM bills GROUP BY payment_status");
+    jdbc.update("INSERT INTO sales_item_rollups (item_id, quantity_sold, revenue) " +
+        "SELECT item_id, SUM(quantity), SUM(subtotal) FROM bill_items GROUP BY item_id");
+  }
+}
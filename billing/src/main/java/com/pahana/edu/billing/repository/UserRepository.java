@@ -3,7 +3,12 @@ package com.pahana.edu.billing.repository;
 
 import com.pahana.edu.billing.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
   boolean existsByUsername(String username);
   boolean existsByEmail(String email);
+
+  interface TokenVersion {
+    String getUsername();
+    Integer getTokenVersion();
+  }
+
+  /** Users whose older tokens have been revoked; everyone else is still on version 0. */
+  @Query("select u.username as username, u.tokenVersion as tokenVersion from User u where u.tokenVersion > 0")
+  List<TokenVersion> findRevokedTokenVersions();
+
+  @Transactional
+  @Modifying
+  @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.username = :username")
+  int incrementTokenVersion(@Param("username") String username);
+
+  @Transactional
+  @Modifying
+  @Query("update User u set u.password = :password where u.userId = :userId")
+  int updatePassword(@Param("userId") Long userId, @Param("password") String password);
 }
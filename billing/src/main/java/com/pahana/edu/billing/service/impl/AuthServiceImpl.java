@@ -4,31 +4,82 @@ package com.pahana.edu.billing.service.impl;
 import com.pahana.edu.billing.domain.dto.auth.AuthResponse;
 import com.pahana.edu.billing.repository.UserRepository;
 import com.pahana.edu.billing.service.interfaces.AuthService;
+import com.pahana.edu.billing.service.support.PasswordVerifier;
 import com.pahana.edu.billing.config.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.pahana.edu.billing.config.TokenRevocations;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-@Service @RequiredArgsConstructor
+@Slf4j
+@Timed(value = "app.service", histogram = true)
+@Service
 public class AuthServiceImpl implements AuthService {
   private final UserRepository userRepo;
-  private final PasswordEncoder encoder;
+  private final PasswordVerifier passwords; // BCrypt runs on its own bounded pool
   private final JwtService jwtService; // ← inject JWT service
+  private final TokenRevocations revocations;
+  private final Executor taskExecutor; // rehash writes and token signing, kept off the BCrypt pool
+
+  public AuthServiceImpl(UserRepository userRepo, PasswordVerifier passwords, JwtService jwtService,
+                         TokenRevocations revocations,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
+    this.userRepo = userRepo;
+    this.passwords = passwords;
+    this.jwtService = jwtService;
+    this.revocations = revocations;
+    this.taskExecutor = taskExecutor;
+  }
 
   @Override
   public AuthResponse login(String username, String rawPassword) {
+    try {
+      return loginAsync(username, rawPassword).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      throw ex;
+    }
+  }
+
+  @Override
+  public CompletableFuture<AuthResponse> loginAsync(String username, String rawPassword) {
     var user = userRepo.findByUsername(username)
         .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
 
-    if (!encoder.matches(rawPassword, user.getPassword())) {
-      throw new BadCredentialsException("Invalid credentials");
-    }
+    return passwords.verify(rawPassword, user.getPassword()).thenApplyAsync(check -> {
+      if (!check.matches()) {
+        throw new BadCredentialsException("Invalid credentials");
+      }
+      if (check.upgradedHash() != null) {
+        upgradeHash(user.getUserId(), check.upgradedHash());
+      }
 
-    // Generate JWT with username and role
-    String token = jwtService.generateToken(user.getUsername(), user.getUserType().name());
+      // Generate JWT with username and role
+      int tokenVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+      String token = jwtService.generateToken(user.getUsername(), user.getUserType().name(), tokenVersion);
 
-    // Return immutable DTO (record or all-args constructor)
-    return new AuthResponse(token, user.getUsername(), user.getUserType().name());
+      // Return immutable DTO (record or all-args constructor)
+      return new AuthResponse(token, user.getUsername(), user.getUserType().name());
+    }, taskExecutor);
+  }
+
+  @Override
+  public void logoutEverywhere(String username) {
+    revocations.revokeAll(username);
+  }
+
+  private void upgradeHash(Long userId, String hash) {
+    // the old hash still works, so a failed write only postpones the upgrade to the next login
+    try {
+      userRepo.updatePassword(userId, hash);
+    } catch (RuntimeException ex) {
+      log.warn("Could not re-encode password of user {}: {}", userId, ex.getMessage());
+    }
   }
 }
@@ -0,0 +1,199 @@
+// service/impl/BillBatchServiceImpl.java
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.bill.*;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.ItemRepository;
+import com.pahana.edu.billing.service.interfaces.BillBatchService;
+import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.support.BillNumberAllocator;
+import com.pahana.edu.billing.service.support.StockLedger;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests the bills an offline terminal queued while disconnected.
+ *
+ * <p>Requests are validated up front, then persisted in chunks of {@code app.billing.batch.chunk-size}, each in
+ * one transaction: customers, items and already-used bill numbers are loaded with one query apiece, stock is
+ * checked against a running per-chunk projection and decremented as one aggregated delta per item, and customer
+ * balances move by one aggregated amount per customer. A bill that
+ * fails its checks is reported and skipped without affecting its neighbours. If the chunk itself cannot commit
+ * (a concurrent sale took the stock, a bill number clash) it is rolled back and replayed bill by bill through
+ * {@link BillingService#create}, so the result for every bill is still exact.
+ */
+@Slf4j
+@Timed(value = "app.service", histogram = true)
+@Service
+public class BillBatchServiceImpl implements BillBatchService {
+  private final BillRepository billRepo;
+  private final CustomerRepository customerRepo;
+  private final ItemRepository itemRepo;
+  private final StockLedger stockLedger;
+  private final BillNumberAllocator billNumbers;
+  private final BillingService billing;
+  private final Validator validator;
+  private final TransactionTemplate chunkTx;
+  private final ApplicationEventPublisher events;
+  private final double taxPercent;
+  private final int chunkSize;
+  private final int maxBatchSize;
+
+  public BillBatchServiceImpl(BillRepository billRepo, CustomerRepository customerRepo, ItemRepository itemRepo,
+                              StockLedger stockLedger, BillNumberAllocator billNumbers, BillingService billing,
+                              Validator validator, PlatformTransactionManager txManager, ApplicationEventPublisher events,
+                              @Value("${app.billing.tax-percent:0}") double taxPercent,
+                              @Value("${app.billing.batch.chunk-size:100}") int chunkSize,
+                              @Value("${app.billing.batch.max-size:1000}") int maxBatchSize){
+    this.billRepo = billRepo;
+    this.customerRepo = customerRepo;
+    this.itemRepo = itemRepo;
+    this.stockLedger = stockLedger;
+    this.billNumbers = billNumbers;
+    this.billing = billing;
+    this.validator = validator;
+    this.chunkTx = new TransactionTemplate(txManager);
+    this.events = events;
+    this.taxPercent = taxPercent;
+    this.chunkSize = chunkSize;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @Override
+  public BillBatchResponse createAll(List<BillCreateRequest> requests){
+    if(requests == null || requests.isEmpty()) throw new BadRequestException("Batch must contain at least one bill");
+    if(requests.size() > maxBatchSize)
+      throw new BadRequestException("Batch too large: at most "+maxBatchSize+" bills per request");
+
+    var results = new BillBatchResult[requests.size()];
+    List<Integer> valid = new ArrayList<>(requests.size());
+    for(int i = 0; i < requests.size(); i++){
+      var error = validate(requests.get(i));
+      if(error != null) results[i] = BillBatchResult.failed(i, error);
+      else valid.add(i);
+    }
+
+    for(int from = 0; from < valid.size(); from += chunkSize){
+      var chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+      try {
+        chunkTx.execute(status -> ingestChunk(requests, chunk)).forEach((i, res) -> results[i] = res);
+      } catch(RuntimeException ex) {
+        log.warn("Batch chunk of {} bills rolled back ({}), replaying one by one", chunk.size(), ex.getMessage());
+        for(int i : chunk) results[i] = replay(i, requests.get(i));
+      }
+    }
+    return BillBatchResponse.of(Arrays.asList(results));
+  }
+
+  private Map<Integer, BillBatchResult> ingestChunk(List<BillCreateRequest> requests, List<Integer> chunk){
+    var customers = customerRepo.findAllById(chunk.stream().map(i -> requests.get(i).customerId()).collect(Collectors.toSet()))
+        .stream().collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+    var items = itemRepo.findAllById(chunk.stream().flatMap(i -> requests.get(i).items().stream())
+            .map(BillItemRequest::itemId).collect(Collectors.toSet()))
+        .stream().collect(Collectors.toMap(Item::getItemId, Function.identity()));
+    var clientNumbers = chunk.stream().map(i -> requests.get(i).billNumber()).filter(StringUtils::hasText).toList();
+    Set<String> usedNumbers = clientNumbers.isEmpty() ? new HashSet<>()
+        : new HashSet<>(billRepo.findExistingBillNumbers(clientNumbers));
+
+    var results = new HashMap<Integer, BillBatchResult>();
+    var accepted = new LinkedHashMap<Integer, Bill>();
+    // stock left for each item after the bills accepted so far, and what they take in total
+    var projected = new HashMap<Long, Integer>();
+    var delta = new LinkedHashMap<Long, Integer>();
+
+    for(int i : chunk){
+      var r = requests.get(i);
+      var quantities = BillingServiceImpl.quantities(r);
+      var error = check(r, quantities, customers, items, projected, usedNumbers);
+      if(error != null){
+        results.put(i, BillBatchResult.failed(i, error));
+        continue;
+      }
+      quantities.forEach((itemId, qty) -> {
+        projected.merge(itemId, -qty, Integer::sum);
+        delta.merge(itemId, qty, Integer::sum);
+      });
+      var billDate = r.billDate()!=null? r.billDate(): LocalDate.now();
+      var billNumber = StringUtils.hasText(r.billNumber())? r.billNumber(): billNumbers.next(billDate);
+      accepted.put(i, BillingServiceImpl.assemble(r, customers.get(r.customerId()), items, billNumber, billDate, taxPercent));
+    }
+
+    if(!delta.isEmpty()) reserveStock(delta, items);
+    billRepo.saveAll(accepted.values());
+    // surface constraint violations here, inside the chunk, rather than at commit
+    billRepo.flush();
+    // one balance update per customer, in id order like the stock rows
+    var owed = new TreeMap<Long, Double>();
+    accepted.values().forEach(bill -> owed.merge(bill.getCustomer().getCustomerId(), bill.getTotalAmount(), Double::sum));
+    owed.forEach(customerRepo::addBillTotal);
+    accepted.forEach((i, bill) -> {
+      var res = BillingServiceImpl.toDto(bill);
+      events.publishEvent(new BillCreatedEvent(res));
+      results.put(i, BillBatchResult.ok(i, res));
+    });
+    return results;
+  }
+
+  private String check(BillCreateRequest r, Map<Long, Integer> quantities, Map<Long, Customer> customers,
+                       Map<Long, Item> items, Map<Long, Integer> projected, Set<String> usedNumbers){
+    if(!customers.containsKey(r.customerId())) return "Customer not found";
+    for(var e : quantities.entrySet()){
+      var item = items.get(e.getKey());
+      if(item == null) return "Item not found: "+e.getKey();
+      int left = projected.computeIfAbsent(e.getKey(), id -> stockLedger.available(id).orElse(item.getStockQuantity()));
+      if(left < e.getValue()) return "Insufficient stock for "+item.getItemName();
+    }
+    if(StringUtils.hasText(r.billNumber()) && !usedNumbers.add(r.billNumber()))
+      return "Bill number already exists: "+r.billNumber();
+    return null;
+  }
+
+  private void reserveStock(Map<Long, Integer> delta, Map<Long, Item> items){
+    Optional<Long> rejected = stockLedger.isEnabled()
+        ? stockLedger.reserve(delta, id -> items.get(id).getStockQuantity())
+        : itemRepo.decrementStock(delta).stream().findFirst();
+    // stock moved underneath us since the chunk was read; roll back and let replay() sort out which bills fit
+    rejected.ifPresent(id -> {
+      throw new IllegalStateException("Stock changed concurrently for item "+id);
+    });
+  }
+
+  private BillBatchResult replay(int index, BillCreateRequest r){
+    try {
+      return BillBatchResult.ok(index, billing.create(r));
+    } catch(RuntimeException ex) {
+      return BillBatchResult.failed(index, ex.getMessage());
+    }
+  }
+
+  private String validate(BillCreateRequest r){
+    if(r == null) return "Bill must not be null";
+    var violations = validator.validate(r);
+    if(!violations.isEmpty()){
+      var v = violations.iterator().next();
+      return v.getPropertyPath()+" "+v.getMessage();
+    }
+    for(var line : r.items()){
+      if(line == null || line.itemId() == null) return "items.itemId must not be null";
+      if(line.quantity() == null || line.quantity() <= 0) return "items.quantity must be greater than 0";
+    }
+    return null;
+  }
+}
@@ -0,0 +1,91 @@
+// service/impl/BillExportServiceImpl.java
+package com.pahana.edu.billing.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.enums.ExportFormat;
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CursorFetch;
+import com.pahana.edu.billing.service.interfaces.BillExportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Timed(value = "app.service", histogram = true)
+@Service
+public class BillExportServiceImpl implements BillExportService {
+  private static final String CSV_HEADER =
+      "billId,billNumber,customerId,customerName,billDate,taxAmount,totalAmount,paymentStatus,itemCount\n";
+
+  private final BillRepository billRepo;
+  private final CursorFetch cursorFetch;
+  private final EntityManager em;
+  private final ObjectMapper mapper;
+  private final int chunkSize;
+
+  public BillExportServiceImpl(BillRepository billRepo, CursorFetch cursorFetch, EntityManager em, ObjectMapper mapper,
+                               @Value("${app.billing.export.chunk-size:100}") int chunkSize){
+    this.billRepo = billRepo;
+    this.cursorFetch = cursorFetch;
+    this.em = em;
+    this.mapper = mapper;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override @Transactional(readOnly = true)
+  public void export(ExportFormat format, OutputStream target) throws IOException {
+    var out = new BufferedOutputStream(target, 64 * 1024);
+    if(format == ExportFormat.CSV) out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+
+    List<Bill> chunk = new ArrayList<>(chunkSize);
+    // the connection goes back to ordinary reads once the stream is closed
+    try(var cursor = cursorFetch.open(); var bills = billRepo.streamAllForExport()){
+      var it = bills.iterator();
+      while(it.hasNext()){
+        chunk.add(it.next());
+        if(chunk.size() == chunkSize || !it.hasNext()){
+          writeChunk(format, chunk, out);
+          chunk.clear();
+          // drop the written rows from the persistence context so heap use stays flat
+          em.clear();
+        }
+      }
+    }
+    out.flush();
+  }
+
+  private void writeChunk(ExportFormat format, List<Bill> chunk, OutputStream out) throws IOException {
+    for(var b : chunk){
+      if(format == ExportFormat.CSV){
+        out.write(csvRow(b).getBytes(StandardCharsets.UTF_8));
+      } else {
+        // the first items access batch-loads the lines of the whole chunk (Bill.items @BatchSize)
+        out.write(mapper.writeValueAsBytes(BillingServiceImpl.toDto(b)));
+        out.write('\n');
+      }
+    }
+  }
+
+  private static String csvRow(Bill b){
+    return String.join(",",
+        String.valueOf(b.getBillId()), csv(b.getBillNumber()), String.valueOf(b.getCustomer().getCustomerId()),
+        csv(b.getCustomer().getCustomerName()), String.valueOf(b.getBillDate()), String.valueOf(b.getTaxAmount()),
+        String.valueOf(b.getTotalAmount()), String.valueOf(b.getPaymentStatus()),
+        String.valueOf(b.getItems().size())) + "\n";
+  }
+
+  private static String csv(String value){
+    if(value == null) return "";
+    if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+      return value;
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
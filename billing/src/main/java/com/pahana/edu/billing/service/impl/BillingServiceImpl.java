@@ -4,37 +4,101 @@ package com.pahana.edu.billing.service.impl;
 import com.pahana.edu.billing.domain.dto.bill.*;
 import com.pahana.edu.billing.domain.entity.*;
 import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.domain.event.BillPaidEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.*;
 import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.support.BillCursor;
+import com.pahana.edu.billing.service.support.BillNumberAllocator;
+import com.pahana.edu.billing.service.support.IdempotencyKeyStore;
+import com.pahana.edu.billing.service.support.StockLedger;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Timed(value = "app.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class BillingServiceImpl implements BillingService {
   private final BillRepository billRepo;
   private final CustomerRepository customerRepo;
   private final ItemRepository itemRepo;
+  private final StockLedger stockLedger;
+  private final BillNumberAllocator billNumbers;
+  private final IdempotencyKeyStore idempotencyKeys;
+  private final ApplicationEventPublisher events;
 
   @Value("${app.billing.tax-percent:0}")
   private double taxPercent;
 
+  @Value("${app.billing.page-size:50}")
+  private int defaultPageSize;
+
+  @Value("${app.billing.max-page-size:200}")
+  private int maxPageSize;
+
   @Override @Transactional
   public BillResponse create(BillCreateRequest r){
-    if(billRepo.existsByBillNumber(r.billNumber()))
-      throw new IllegalArgumentException("Duplicate billNumber");
-
     var customer = customerRepo.findById(r.customerId())
         .orElseThrow(() -> new NotFoundException("Customer not found"));
 
+    var quantities = quantities(r);
+    var items = itemRepo.findAllById(quantities.keySet()).stream()
+        .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+    quantities.forEach((itemId, qty) -> {
+      var item = items.get(itemId);
+      if(item == null) throw new NotFoundException("Item not found: "+itemId);
+      if(item.getStockQuantity() < qty) throw new BadRequestException("Insufficient stock for "+item.getItemName());
+    });
+
+    var billDate = r.billDate()!=null? r.billDate(): LocalDate.now();
+    // client-supplied numbers are still honoured; a clash surfaces as a unique-constraint violation
+    var billNumber = StringUtils.hasText(r.billNumber())? r.billNumber(): billNumbers.next(billDate);
+    var bill = assemble(r, customer, items, billNumber, billDate, taxPercent);
+
+    reserveStock(quantities, items);
+
+    billRepo.save(bill);
+    customerRepo.addBillTotal(customer.getCustomerId(), bill.getTotalAmount());
+    var res = toDto(bill);
+    events.publishEvent(new BillCreatedEvent(res));
+    return res;
+  }
+
+  // the key row commits with the bill, so a retry can never create a second one
+  @Override @Transactional
+  public BillResponse create(BillCreateRequest r, String idempotencyKey){
+    var bill = create(r);
+    idempotencyKeys.record(idempotencyKey, r, bill);
+    return bill;
+  }
+
+  // merge duplicate lines so every item is fetched and decremented exactly once
+  static Map<Long, Integer> quantities(BillCreateRequest r){
+    var quantities = new LinkedHashMap<Long, Integer>();
+    for(var itReq : r.items()) quantities.merge(itReq.itemId(), itReq.quantity(), Integer::sum);
+    return quantities;
+  }
+
+  // builds the bill and its lines with totals; shared with BillBatchServiceImpl
+  static Bill assemble(BillCreateRequest r, Customer customer, Map<Long, Item> items,
+                       String billNumber, LocalDate billDate, double taxPercent){
     var bill = Bill.builder()
-      .billNumber(r.billNumber())
+      .billNumber(billNumber)
       .customer(customer)
-      .billDate(r.billDate()!=null? r.billDate(): LocalDate.now())
+      .billDate(billDate)
       .paymentStatus(PaymentStatus.PENDING)
       .taxAmount(0.0).totalAmount(0.0).build();
 
@@ -42,18 +106,12 @@ public class BillingServiceImpl implements BillingService {
 
     double net = 0.0;
     for(var itReq : r.items()){
-      var item = itemRepo.findById(itReq.itemId())
-          .orElseThrow(() -> new NotFoundException("Item not found: "+itReq.itemId()));
+      var item = items.get(itReq.itemId());
       double unitPrice = (itReq.unitPrice()!=null? itReq.unitPrice(): item.getPrice());
       int qty = itReq.quantity();
       double subtotal = unitPrice * qty;
       net += subtotal;
 
-      // reduce stock
-      if(item.getStockQuantity() < qty) throw new IllegalArgumentException("Insufficient stock for "+item.getItemName());
-      item.setStockQuantity(item.getStockQuantity()-qty);
-      itemRepo.save(item);
-
       var bi = BillItem.builder().bill(bill).item(item).quantity(qty)
                        .unitPrice(unitPrice).subtotal(subtotal).build();
       bill.getItems().add(bi);
@@ -62,37 +120,97 @@ public class BillingServiceImpl implements BillingService {
     double tax = (taxPercent/100.0)*net;
     bill.setTaxAmount(tax);
     bill.setTotalAmount(net + tax);
+    return bill;
+  }
 
-    billRepo.save(bill);
-    return toDto(bill);
+  private void reserveStock(Map<Long, Integer> quantities, Map<Long, Item> items){
+    if(stockLedger.isEnabled()){
+      // hot path: CAS against the in-memory ledger, the rows are updated by its periodic flush
+      stockLedger.reserve(quantities, id -> items.get(id).getStockQuantity()).ifPresent(id -> {
+        throw new BadRequestException("Insufficient stock for "+items.get(id).getItemName());
+      });
+      return;
+    }
+    // one guarded UPDATE per item in a single JDBC batch, so concurrent tills cannot oversell
+    var rejected = itemRepo.decrementStock(quantities);
+    if(!rejected.isEmpty())
+      throw new BadRequestException("Insufficient stock for "+items.get(rejected.iterator().next()).getItemName());
   }
 
-  @Override 
+  @Override @Transactional(readOnly = true)
   public BillResponse get(Long id){
     var b = billRepo.findById(id).orElseThrow(() -> new NotFoundException("Bill not found"));
     return toDto(b);
   }
 
-  @Override 
+  @Override @Transactional(readOnly = true)
   public List<BillResponse> listByCustomer(Long customerId){
-    return billRepo.findByCustomer_CustomerId(customerId).stream().map(this::toDto).toList();
+    return billRepo.findByCustomer_CustomerId(customerId).stream().map(BillingServiceImpl::toDto).toList();
   }
 
   // Add this method - GET ALL BILLS
-  @Override
+  @Override @Transactional(readOnly = true)
   public List<BillResponse> listAll() {
-    return billRepo.findAll().stream().map(this::toDto).toList();
+    return billRepo.findAllWithDetails().stream().map(BillingServiceImpl::toDto).toList();
+  }
+
+  @Override @Transactional(readOnly = true)
+  public BillPage page(Long customerId, String cursor, Integer size){
+    int limit = pageLimit(size);
+    var after = StringUtils.hasText(cursor)? BillCursor.decode(cursor): null;
+    // one extra row tells us whether another page exists without a COUNT query
+    var window = PageRequest.ofSize(limit + 1);
+
+    List<Bill> rows;
+    if(customerId == null){
+      rows = after == null ? billRepo.findPage(window)
+          : billRepo.findPageAfter(after.billDate(), after.billId(), window);
+    } else {
+      rows = after == null ? billRepo.findCustomerPage(customerId, window)
+          : billRepo.findCustomerPageAfter(customerId, after.billDate(), after.billId(), window);
+    }
+
+    boolean more = rows.size() > limit;
+    var pageRows = more ? rows.subList(0, limit) : rows;
+    var next = more ? BillCursor.of(pageRows.get(limit - 1)).encode() : null;
+    return new BillPage(pageRows.stream().map(BillingServiceImpl::toDto).toList(), next);
+  }
+
+  @Override @Transactional(readOnly = true)
+  public BillSearchResponse search(BillSearchCriteria criteria, String cursor, Integer size){
+    int limit = pageLimit(size);
+    var after = StringUtils.hasText(cursor)? BillCursor.decode(cursor): null;
+    var rows = after == null ? billRepo.search(criteria, null, null, limit + 1)
+        : billRepo.search(criteria, after.billDate(), after.billId(), limit + 1);
+
+    boolean more = rows.size() > limit;
+    var pageRows = more ? rows.subList(0, limit) : rows;
+    var next = more ? BillCursor.of(pageRows.get(limit - 1)).encode() : null;
+    // the aggregate scans every match, so only pay for it once per search rather than once per page
+    var totals = after == null ? billRepo.totals(criteria) : null;
+    return new BillSearchResponse(pageRows.stream().map(BillingServiceImpl::toDto).toList(), next, totals);
+  }
+
+  private int pageLimit(Integer size){
+    return Math.min(size != null ? Math.max(size, 1) : defaultPageSize, maxPageSize);
   }
 
   @Override @Transactional
   public BillResponse markPaid(Long billId){
     var b = billRepo.findById(billId).orElseThrow(() -> new NotFoundException("Bill not found"));
+    var previous = b.getPaymentStatus();
     b.setPaymentStatus(PaymentStatus.PAID);
     billRepo.save(b);
-    return toDto(b);
+    // only a pending bill was counted as owed; a cancelled one never was
+    if(previous == PaymentStatus.PENDING) customerRepo.settle(b.getCustomer().getCustomerId(), b.getTotalAmount());
+    var res = toDto(b);
+    // paying twice is a no-op for everything that aggregates payment status
+    if(previous != PaymentStatus.PAID) events.publishEvent(new BillPaidEvent(res, previous));
+    return res;
   }
 
-  private BillResponse toDto(Bill b){
+  // shared with BillExportServiceImpl
+  static BillResponse toDto(Bill b){
     var items = b.getItems().stream()
       .map(i -> new BillItemResponse(i.getBillItemId(), i.getItem().getItemId(), i.getItem().getItemName(),
                                      i.getQuantity(), i.getUnitPrice(), i.getSubtotal()))
@@ -6,13 +6,21 @@ import com.pahana.edu.billing.domain.entity.Customer;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.CustomerRepository;
 import com.pahana.edu.billing.service.interfaces.CustomerService;
+import com.pahana.edu.billing.service.support.CollectionVersion;
+import com.pahana.edu.billing.service.support.CustomerAccountCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+@Timed(value = "app.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
   private final CustomerRepository repo;
+  private final CustomerAccountCache accounts;
+  private final CollectionVersion version = new CollectionVersion("customers");
 
   @Override public CustomerResponse create(CustomerCreateRequest r){
     var c = Customer.builder()
@@ -20,16 +28,30 @@ public class CustomerServiceImpl implements CustomerService {
       .address(r.address()).telephoneNumber(r.telephoneNumber())
       .registrationDate(r.registrationDate()).status(r.status()).build();
     repo.save(c);
+    version.bump();
     return toDto(c);
   }
   @Override public CustomerResponse get(Long id){
     return toDto(repo.findById(id).orElseThrow(() -> new NotFoundException("Customer not found")));
   }
+  @Override public CustomerResponse getByAccountNumber(String accountNumber){
+    var c = accounts.get(accountNumber, key -> repo.findByAccountNumber(key).map(this::toDto).orElse(null));
+    if(c == null) throw new NotFoundException("Customer not found");
+    return c;
+  }
+  // maintained as bills are created and paid, so this is a single primary-key read
+  @Override public CustomerBalanceResponse getBalance(Long id){
+    var c = repo.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
+    return new CustomerBalanceResponse(c.getCustomerId(), c.getAccountNumber(),
+      c.getOutstandingBalance(), c.getLifetimeSpend());
+  }
   @Override public List<CustomerResponse> list(){
     return repo.findAll().stream().map(this::toDto).toList();
   }
+  @Override public String listETag(){ return version.etag(); }
   @Override public CustomerResponse update(Long id, CustomerCreateRequest r){
     var c = repo.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
+    var previousAccount = c.getAccountNumber();
     c.setAccountNumber(r.accountNumber());
     c.setCustomerName(r.customerName());
     c.setAddress(r.address());
@@ -37,9 +59,16 @@ public class CustomerServiceImpl implements CustomerService {
     c.setRegistrationDate(r.registrationDate());
     c.setStatus(r.status());
     repo.save(c);
+    accounts.invalidate(Arrays.asList(previousAccount, c.getAccountNumber()));
+    version.bump();
     return toDto(c);
   }
-  @Override public void delete(Long id){ repo.deleteById(id); }
+  @Override public void delete(Long id){
+    var account = repo.findById(id).map(Customer::getAccountNumber).orElse(null);
+    repo.deleteById(id);
+    accounts.invalidate(Collections.singleton(account));
+    version.bump();
+  }
 
   private CustomerResponse toDto(Customer c){
     return new CustomerResponse(c.getCustomerId(), c.getAccountNumber(), c.getCustomerName(),
@@ -0,0 +1,64 @@
+// service/impl/DashboardServiceImpl.java
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.dashboard.*;
+import com.pahana.edu.billing.domain.dto.item.ItemResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.SalesRollupRepository;
+import com.pahana.edu.billing.service.interfaces.DashboardService;
+import com.pahana.edu.billing.service.interfaces.ItemService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bill figures come only from the rollup tables and the catalog from ItemCatalogCache, so the cost of a
+// dashboard load does not grow with the number of bills
+@Timed(value = "app.service", histogram = true)
+@Service @RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+  private final SalesRollupRepository rollups;
+  private final ItemService items;
+  private final CustomerRepository customerRepo;
+
+  @Value("${app.dashboard.top-items:5}")
+  private int topItems;
+
+  @Override @Transactional(readOnly = true)
+  public DashboardStats stats(int lowStockThreshold){
+    var catalog = items.list();
+    var names = catalog.stream().collect(Collectors.toMap(ItemResponse::itemId, ItemResponse::itemName, (a, b) -> a));
+    var lowStock = catalog.stream()
+        .filter(i -> i.stockQuantity() != null && i.stockQuantity() <= lowStockThreshold)
+        .sorted(Comparator.comparing(ItemResponse::stockQuantity))
+        .toList();
+
+    var today = LocalDate.now();
+    var top = rollups.topItems(topItems).stream()
+        .map(s -> new ItemSales(s.itemId(), names.get(s.itemId()), s.quantitySold(), s.revenue()))
+        .toList();
+
+    return new DashboardStats(customerRepo.count(), catalog.size(), lowStock, billsSummary(),
+        rollups.daily(today.minusDays(6), today), top);
+  }
+
+  private BillsSummary billsSummary(){
+    var byStatus = new EnumMap<PaymentStatus, StatusTotals>(PaymentStatus.class);
+    byStatus.putAll(rollups.statusTotals().stream().collect(Collectors.toMap(StatusTotals::status, Function.identity())));
+    var none = new StatusTotals(null, 0, 0.0);
+    var pending = byStatus.getOrDefault(PaymentStatus.PENDING, none);
+    var paid = byStatus.getOrDefault(PaymentStatus.PAID, none);
+    var cancelled = byStatus.getOrDefault(PaymentStatus.CANCELLED, none);
+    long count = byStatus.values().stream().mapToLong(StatusTotals::billCount).sum();
+    double amount = byStatus.values().stream().mapToDouble(StatusTotals::totalAmount).sum();
+    return new BillsSummary(count, pending.billCount(), paid.billCount(), cancelled.billCount(),
+        amount, paid.totalAmount(), pending.totalAmount());
+  }
+}
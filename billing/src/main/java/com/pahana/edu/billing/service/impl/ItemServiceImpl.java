@@ -6,35 +6,60 @@ import com.pahana.edu.billing.domain.entity.Item;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.ItemRepository;
 import com.pahana.edu.billing.service.interfaces.ItemService;
+import com.pahana.edu.billing.service.support.ItemCatalogCache;
+import com.pahana.edu.billing.service.support.StockLedger;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import java.util.Collections;
 import java.util.List;
 
+@Timed(value = "app.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
   private final ItemRepository repo;
+  private final StockLedger stockLedger;
+  private final ItemCatalogCache catalog;
 
   @Override public ItemResponse create(ItemCreateRequest r){
     var i = Item.builder().itemName(r.itemName()).category(r.category())
                .price(r.price()).stockQuantity(r.stockQuantity()).build();
     repo.save(i);
+    catalog.invalidate(Collections.singleton(i.getItemId()));
     return toDto(i);
   }
   @Override public ItemResponse get(Long id){
-    return toDto(repo.findById(id).orElseThrow(() -> new NotFoundException("Item not found")));
+    return catalog.get(id, key -> toDto(repo.findById(key).orElseThrow(() -> new NotFoundException("Item not found"))));
   }
-  @Override public List<ItemResponse> list(){ return repo.findAll().stream().map(this::toDto).toList(); }
+  @Override public List<ItemResponse> list(){
+    return catalog.list(() -> repo.findAll().stream().map(this::toDto).toList());
+  }
+  // the catalog version moves with every item change and every sale, so it tags the list exactly
+  @Override public String listETag(){ return catalog.etag(); }
   @Override public ItemResponse update(Long id, ItemUpdateRequest r){
     var i = repo.findById(id).orElseThrow(() -> new NotFoundException("Item not found"));
     if(r.itemName()!=null) i.setItemName(r.itemName());
     if(r.category()!=null) i.setCategory(r.category());
     if(r.price()!=null) i.setPrice(r.price());
-    if(r.stockQuantity()!=null) i.setStockQuantity(r.stockQuantity());
-    repo.save(i); return toDto(i);
+    if(r.stockQuantity()!=null){
+      i.setStockQuantity(r.stockQuantity());
+      stockLedger.forget(id); // writes the sales committed so far, so the absolute value replaces them
+    }
+    repo.save(i);
+    if(r.stockQuantity()!=null) stockLedger.forget(id); // drops a slot seeded from the old row meanwhile
+    catalog.invalidate(Collections.singleton(id));
+    return toDto(i);
+  }
+  @Override public void delete(Long id){
+    repo.deleteById(id);
+    stockLedger.forget(id);
+    catalog.invalidate(Collections.singleton(id));
   }
-  @Override public void delete(Long id){ repo.deleteById(id); }
 
   private ItemResponse toDto(Item i){
-    return new ItemResponse(i.getItemId(), i.getItemName(), i.getCategory(), i.getPrice(), i.getStockQuantity());
+    // while the ledger tracks an item its count is ahead of the row, which is only updated on flush
+    int stock = i.getItemId() == null ? i.getStockQuantity()
+        : stockLedger.available(i.getItemId()).orElse(i.getStockQuantity());
+    return new ItemResponse(i.getItemId(), i.getItemName(), i.getCategory(), i.getPrice(), stock);
   }
 }
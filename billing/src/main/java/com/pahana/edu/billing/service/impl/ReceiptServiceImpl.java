@@ -0,0 +1,26 @@
+// service/impl/ReceiptServiceImpl.java
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import com.pahana.edu.billing.repository.ReceiptRepository;
+import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.interfaces.ReceiptService;
+import com.pahana.edu.billing.service.support.ReceiptPipeline;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Timed(value = "app.service", histogram = true)
+@Service @RequiredArgsConstructor
+public class ReceiptServiceImpl implements ReceiptService {
+  private final ReceiptRepository receiptRepo;
+  private final ReceiptPipeline pipeline;
+  private final BillingService billing;
+
+  @Override
+  public byte[] get(Long billId, ReceiptFormat format){
+    var stored = format == ReceiptFormat.PDF ? receiptRepo.findPdfBody(billId) : receiptRepo.findTextBody(billId);
+    // still queued, shed while the queue was full, or a bill from before receipts were rendered
+    return stored.orElseGet(() -> pipeline.renderAndStore(billing.get(billId)).as(format));
+  }
+}
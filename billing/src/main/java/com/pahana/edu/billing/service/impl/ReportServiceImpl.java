@@ -0,0 +1,29 @@
+// service/impl/ReportServiceImpl.java
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.report.TopItemsResponse;
+import com.pahana.edu.billing.service.interfaces.ReportService;
+import com.pahana.edu.billing.service.support.TopItemsTracker;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+
+// served entirely from TopItemsTracker's in-memory summaries, so rush-hour reports add no load on MySQL
+@Timed(value = "app.service", histogram = true)
+@Service @RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+  private final TopItemsTracker topItems;
+
+  @Value("${app.reports.top-items.max-limit:100}")
+  private int maxLimit;
+
+  @Override
+  public TopItemsResponse topItems(int days, int limit){
+    var today = LocalDate.now();
+    // the tracker rejects windows longer than it keeps
+    var items = topItems.top(today, days, Math.min(Math.max(limit, 1), maxLimit));
+    return new TopItemsResponse(today.minusDays(days - 1L), today, items);
+  }
+}
@@ -1,6 +1,14 @@
 // service/interfaces/AuthService.java
 package com.pahana.edu.billing.service.interfaces;
 import com.pahana.edu.billing.domain.dto.auth.AuthResponse;
+import java.util.concurrent.CompletableFuture;
 public interface AuthService {
   AuthResponse login(String username, String rawPassword);
+  /**
+   * {@link #login} with the password check run on the login pool, so the calling thread is not held by BCrypt.
+   * @throws com.pahana.edu.billing.exception.ServiceBusyException if too many logins are already waiting
+   */
+  CompletableFuture<AuthResponse> loginAsync(String username, String rawPassword);
+  /** Revokes every token issued to the user so far, on every device. */
+  void logoutEverywhere(String username);
 }
@@ -0,0 +1,9 @@
+// service/interfaces/BillBatchService.java
+package com.pahana.edu.billing.service.interfaces;
+import com.pahana.edu.billing.domain.dto.bill.BillBatchResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import java.util.List;
+
+public interface BillBatchService {
+  BillBatchResponse createAll(List<BillCreateRequest> requests);
+}
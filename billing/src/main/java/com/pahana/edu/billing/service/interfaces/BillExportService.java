@@ -0,0 +1,10 @@
+// service/interfaces/BillExportService.java
+package com.pahana.edu.billing.service.interfaces;
+import com.pahana.edu.billing.domain.enums.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BillExportService {
+  /** Streams every bill to {@code out} without materializing the full result. */
+  void export(ExportFormat format, OutputStream out) throws IOException;
+}
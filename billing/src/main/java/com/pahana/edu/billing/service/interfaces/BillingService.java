@@ -5,8 +5,11 @@ import java.util.List;
 
 public interface BillingService {
   BillResponse create(BillCreateRequest req);
+  BillResponse create(BillCreateRequest req, String idempotencyKey);
   BillResponse get(Long id);
   List<BillResponse> listByCustomer(Long customerId);
   BillResponse markPaid(Long billId);
   List<BillResponse> listAll(); // Add this method
+  BillPage page(Long customerId, String cursor, Integer size);
+  BillSearchResponse search(BillSearchCriteria criteria, String cursor, Integer size);
 }
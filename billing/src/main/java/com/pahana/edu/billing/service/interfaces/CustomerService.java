@@ -5,7 +5,10 @@ import java.util.List;
 public interface CustomerService {
   CustomerResponse create(CustomerCreateRequest req);
   CustomerResponse get(Long id);
+  CustomerResponse getByAccountNumber(String accountNumber);
+  CustomerBalanceResponse getBalance(Long id);
   List<CustomerResponse> list();
+  String listETag();
   CustomerResponse update(Long id, CustomerCreateRequest req);
   void delete(Long id);
 }
@@ -0,0 +1,7 @@
+// service/interfaces/DashboardService.java
+package com.pahana.edu.billing.service.interfaces;
+import com.pahana.edu.billing.domain.dto.dashboard.DashboardStats;
+
+public interface DashboardService {
+  DashboardStats stats(int lowStockThreshold);
+}
@@ -6,6 +6,7 @@ public interface ItemService {
   ItemResponse create(ItemCreateRequest req);
   ItemResponse get(Long id);
   List<ItemResponse> list();
+  String listETag();
   ItemResponse update(Long id, ItemUpdateRequest req);
   void delete(Long id);
 }
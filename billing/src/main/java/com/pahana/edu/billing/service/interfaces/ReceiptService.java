@@ -0,0 +1,7 @@
+package com.pahana.edu.billing.service.interfaces;
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+
+public interface ReceiptService {
+  /** The stored receipt of a bill, rendered now if the background render has not stored it yet. */
+  byte[] get(Long billId, ReceiptFormat format);
+}
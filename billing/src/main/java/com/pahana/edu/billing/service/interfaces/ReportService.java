@@ -0,0 +1,6 @@
+// service/interfaces/ReportService.java
+package com.pahana.edu.billing.service.interfaces;
+import com.pahana.edu.billing.domain.dto.report.TopItemsResponse;
+public interface ReportService {
+  TopItemsResponse topItems(int days, int limit);
+}
@@ -0,0 +1,39 @@
+// service/support/BillCursor.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset position in the {@code (billDate desc, billId desc)} ordering, exchanged with clients as an opaque
+ * URL-safe token so the encoding can change without breaking them.
+ */
+public record BillCursor(LocalDate billDate, Long billId) {
+
+  public BillCursor {
+    // bill_date is NOT NULL; a null here would encode as "null" and never decode again
+    Objects.requireNonNull(billDate, "billDate");
+    Objects.requireNonNull(billId, "billId");
+  }
+
+  public static BillCursor of(Bill b){ return new BillCursor(b.getBillDate(), b.getBillId()); }
+
+  public String encode(){
+    var raw = billDate + "|" + billId;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static BillCursor decode(String token){
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      return new BillCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+    } catch(RuntimeException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
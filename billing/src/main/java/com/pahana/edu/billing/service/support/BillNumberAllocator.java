@@ -0,0 +1,93 @@
+// service/support/BillNumberAllocator.java
+package com.pahana.edu.billing.service.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out bill numbers like {@code MAIN-20250101-000042} from blocks leased off {@code bill_number_counters}.
+ *
+ * <p>Each instance leases {@code block-size} numbers per store/day prefix in its own short transaction and
+ * then serves them from an {@link AtomicLong}, so numbering needs no per-bill query and stays unique across
+ * app instances. Numbers left in a block at shutdown are skipped, which leaves gaps but never duplicates.
+ */
+@Component
+public class BillNumberAllocator {
+  private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate leaseTx;
+  private final String storeCode;
+  private final int blockSize;
+  private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+  private final ReentrantLock leaseLock = new ReentrantLock();
+
+  public BillNumberAllocator(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                             @Value("${app.billing.store-code:MAIN}") String storeCode,
+                             @Value("${app.billing.bill-number-block-size:1000}") int blockSize){
+    this.jdbc = jdbc;
+    this.leaseTx = new TransactionTemplate(txManager);
+    this.leaseTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.storeCode = storeCode;
+    this.blockSize = blockSize;
+  }
+
+  public String next(LocalDate billDate){
+    String prefix = storeCode + "-" + DAY.format(billDate);
+    while(true){
+      var block = blocks.get(prefix);
+      if(block != null){
+        long n = block.next.getAndIncrement();
+        if(n < block.end) return String.format("%s-%06d", prefix, n);
+      }
+      leaseLock.lock();
+      try {
+        // another thread may have replaced the exhausted block while we waited
+        if(blocks.get(prefix) == block){
+          blocks.values().removeIf(Block::exhausted);
+          blocks.put(prefix, lease(prefix));
+        }
+      } finally {
+        leaseLock.unlock();
+      }
+    }
+  }
+
+  private Block lease(String prefix){
+    return leaseTx.execute(status -> {
+      var start = jdbc.query("SELECT next_value FROM bill_number_counters WHERE counter_key = ? FOR UPDATE",
+          rs -> rs.next() ? rs.getLong(1) : null, prefix);
+      if(start == null){
+        try {
+          jdbc.update("INSERT INTO bill_number_counters(counter_key, next_value) VALUES (?, ?)", prefix, 1L + blockSize);
+          return new Block(1, 1L + blockSize);
+        } catch(DuplicateKeyException raced) {
+          // another instance created the row first; lock it like any other lease
+          start = jdbc.queryForObject("SELECT next_value FROM bill_number_counters WHERE counter_key = ? FOR UPDATE",
+              Long.class, prefix);
+        }
+      }
+      jdbc.update("UPDATE bill_number_counters SET next_value = next_value + ? WHERE counter_key = ?", blockSize, prefix);
+      return new Block(start, start + blockSize);
+    });
+  }
+
+  private static final class Block {
+    final AtomicLong next;
+    final long end;
+
+    Block(long start, long end){ this.next = new AtomicLong(start); this.end = end; }
+
+    boolean exhausted(){ return next.get() >= end; }
+  }
+}
@@ -0,0 +1,44 @@
+// service/support/CacheLoads.java
+package com.pahana.edu.billing.service.support;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through for the near caches that keeps the loader's database call out of the cache's map lock.
+ *
+ * <p>{@code Cache.get(key, loader)} runs the loader inside {@code ConcurrentHashMap.compute}, i.e. inside a
+ * {@code synchronized} block, which pins a virtual thread to its carrier for the whole query. Here the first
+ * caller for a key installs an empty future and loads outside any lock; concurrent callers for the same key wait
+ * on that future (which parks rather than pins). Futures completed with null or an exception are dropped by
+ * Caffeine, so misses and failures are not cached; a future invalidated while loading is never published.
+ */
+final class CacheLoads {
+  private CacheLoads(){}
+
+  static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader){
+    var pending = cache.getIfPresent(key);
+    if(pending == null){
+      var mine = new CompletableFuture<V>();
+      pending = cache.asMap().putIfAbsent(key, mine);
+      if(pending == null){
+        try {
+          V value = loader.apply(key);
+          mine.complete(value);
+          return value;
+        } catch(RuntimeException | Error ex) {
+          mine.completeExceptionally(ex);
+          throw ex;
+        }
+      }
+    }
+    try {
+      return pending.join();
+    } catch(CompletionException ex) {
+      if(ex.getCause() instanceof RuntimeException cause) throw cause;
+      throw ex;
+    }
+  }
+}
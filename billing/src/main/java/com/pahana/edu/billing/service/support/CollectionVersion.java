@@ -0,0 +1,28 @@
+// service/support/CollectionVersion.java
+package com.pahana.edu.billing.service.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counter of one collection, bumped by every mutation and rendered as a strong ETag.
+ *
+ * <p>The counter is per process, so tags also carry a start-up epoch: after a restart, or from another instance,
+ * an old tag simply stops matching instead of matching the wrong content.
+ */
+public final class CollectionVersion {
+  private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+  private final String name;
+  private final AtomicLong version = new AtomicLong();
+
+  public CollectionVersion(String name){ this.name = name; }
+
+  public long current(){ return version.get(); }
+
+  public long bump(){ return version.incrementAndGet(); }
+
+  public String etag(){ return etag(version.get()); }
+
+  /** Tag of the collection as of {@code version}; read it before loading the content it describes. */
+  public String etag(long version){ return "\"" + name + "-" + EPOCH + "-" + version + "\""; }
+}
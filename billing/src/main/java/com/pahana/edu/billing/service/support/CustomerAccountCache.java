@@ -0,0 +1,45 @@
+// service/support/CustomerAccountCache.java
+package com.pahana.edu.billing.service.support;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pahana.edu.billing.domain.dto.customer.CustomerResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Near cache for checkout card scans: account number to {@link CustomerResponse}.
+ *
+ * <p>Bounded and expire-after-write; only found customers are cached, so a card registered after a failed scan
+ * is picked up on the next one. {@code CustomerServiceImpl} evicts the old and new account number on every
+ * update and delete. Stats are published as {@code cache.*{cache=customer-accounts}}.
+ */
+@Component
+public class CustomerAccountCache {
+  private final AsyncCache<String, CustomerResponse> byAccount;
+
+  public CustomerAccountCache(MeterRegistry registry,
+                              @Value("${app.customers.account-cache.max-size:20000}") long maxSize,
+                              @Value("${app.customers.account-cache.ttl:PT30M}") Duration ttl){
+    this.byAccount = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().buildAsync();
+    CaffeineCacheMetrics.monitor(registry, byAccount, "customer-accounts");
+  }
+
+  /**
+   * Cached customer for {@code accountNumber}, loading it on a miss outside the cache's locks (see
+   * {@link CacheLoads}); a loader returning null is not cached.
+   */
+  public CustomerResponse get(String accountNumber, Function<String, CustomerResponse> loader){
+    return CacheLoads.get(byAccount, accountNumber, loader);
+  }
+
+  public void invalidate(Collection<String> accountNumbers){
+    byAccount.synchronous().invalidateAll(accountNumbers.stream().filter(Objects::nonNull).toList());
+  }
+}
@@ -0,0 +1,118 @@
+// service/support/IdempotencyKeyStore.java
+package com.pahana.edu.billing.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Remembers which bill each {@code Idempotency-Key} of {@code POST /api/bills} created.
+ *
+ * <p>Recent keys live in a bounded, TTL-evicting in-memory cache so a retry storm is answered with a hash lookup;
+ * every key is also written to {@code idempotency_keys} in the transaction that creates the bill, so retries
+ * that miss the cache (other instance, restart, eviction) are still recognised. Rows older than the retention
+ * period are purged on a schedule.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyStore {
+  public static final int MAX_KEY_LENGTH = 100;
+
+  private final IdempotencyKeyRepository repo;
+  private final Duration retention;
+  private final Cache<String, Entry> recent;
+
+  private record Entry(String requestDigest, BillResponse bill) {}
+
+  public IdempotencyKeyStore(IdempotencyKeyRepository repo,
+                             @Value("${app.billing.idempotency.cache-size:10000}") long cacheSize,
+                             @Value("${app.billing.idempotency.cache-ttl:PT10M}") Duration cacheTtl,
+                             @Value("${app.billing.idempotency.retention:PT24H}") Duration retention){
+    this.repo = repo;
+    this.retention = retention;
+    this.recent = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+  }
+
+  /**
+   * The bill previously created with {@code key}, if any. {@code loadBill} is only called for keys found in the
+   * table but not in memory.
+   * @throws BadRequestException if the key is malformed or was used for a different request
+   */
+  public Optional<BillResponse> find(String key, BillCreateRequest request, LongFunction<BillResponse> loadBill){
+    check(key);
+    var entry = recent.getIfPresent(key);
+    if(entry == null){
+      var row = repo.findById(key).orElse(null);
+      if(row == null) return Optional.empty();
+      entry = new Entry(row.getRequestDigest(), loadBill.apply(row.getBillId()));
+      recent.put(key, entry);
+    }
+    if(!entry.requestDigest().equals(fingerprint(request)))
+      throw new BadRequestException("Idempotency-Key was already used for a different bill");
+    return Optional.of(entry.bill());
+  }
+
+  /**
+   * Records {@code key} inside the transaction that created {@code bill}, so both commit or neither does.
+   * A concurrent request with the same key fails on the primary key instead of creating a second bill.
+   */
+  public void record(String key, BillCreateRequest request, BillResponse bill){
+    check(key);
+    var entry = new Entry(fingerprint(request), bill);
+    repo.insert(key, bill.billId(), entry.requestDigest(), Instant.now());
+    if(TransactionSynchronizationManager.isSynchronizationActive()){
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override public void afterCommit(){ recent.put(key, entry); }
+      });
+    } else {
+      recent.put(key, entry);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.billing.idempotency.purge-interval-ms:3600000}")
+  public void purge(){
+    int purged = repo.deleteCreatedBefore(Instant.now().minus(retention));
+    if(purged > 0) log.info("Purged {} idempotency keys older than {}", purged, retention);
+  }
+
+  private static void check(String key){
+    if(!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH)
+      throw new BadRequestException("Idempotency-Key must be 1-"+MAX_KEY_LENGTH+" characters");
+  }
+
+  // SHA-256 of a canonical form of the request: a different bill must never pass for a retry of this one
+  static String fingerprint(BillCreateRequest r){
+    var canonical = new StringBuilder(64 + 32 * r.items().size())
+        .append(r.customerId()).append('|');
+    // length-prefixed, so no billNumber can run into the fields after it
+    if(r.billNumber() == null) canonical.append('-');
+    else canonical.append(r.billNumber().length()).append(':').append(r.billNumber());
+    canonical.append('|').append(r.billDate());
+    for(var line : r.items())
+      canonical.append('|').append(line.itemId()).append(',').append(line.quantity()).append(',').append(line.unitPrice());
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch(NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+// service/support/ItemCatalogCache.java
+package com.pahana.edu.billing.service.support;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.item.ItemResponse;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the item catalog: {@link ItemResponse}s by id plus one snapshot of the full list.
+ *
+ * <p>Every change to an item bumps a catalog version; the list snapshot is only served while its version is
+ * current, and a load that raced with a change is returned to its caller but never published. Invalidation runs
+ * after commit, for admin edits as well as for the stock taken by each bill ({@link BillCreatedEvent}).
+ * Hit, miss and eviction counts are published as {@code cache.*{cache=item-catalog}} and
+ * {@code item.catalog.list{result=hit|miss}}.
+ */
+@Component
+public class ItemCatalogCache {
+  private final AsyncCache<Long, ItemResponse> byId;
+  private final Duration ttl;
+  private final CollectionVersion version = new CollectionVersion("items");
+  // serialises publishing a loaded list against invalidation; readers never take it
+  private final ReentrantLock publishLock = new ReentrantLock();
+  private final Counter listHits;
+  private final Counter listMisses;
+  private volatile Snapshot snapshot;
+
+  private record Snapshot(long version, long loadedAt, List<ItemResponse> items) {}
+
+  public ItemCatalogCache(MeterRegistry registry,
+                          @Value("${app.catalog.max-items:10000}") long maxItems,
+                          @Value("${app.catalog.ttl:PT5M}") Duration ttl){
+    this.ttl = ttl;
+    this.byId = Caffeine.newBuilder().maximumSize(maxItems).expireAfterWrite(ttl).recordStats().buildAsync();
+    CaffeineCacheMetrics.monitor(registry, byId, "item-catalog");
+    this.listHits = registry.counter("item.catalog.list", "result", "hit");
+    this.listMisses = registry.counter("item.catalog.list", "result", "miss");
+    registry.gauge("item.catalog.version", version, CollectionVersion::current);
+  }
+
+  /** Bumped on every invalidation; callers may use it as a catalog change marker. */
+  public long version(){ return version.current(); }
+
+  /** Strong ETag of the current catalog list. */
+  public String etag(){ return version.etag(); }
+
+  /** Cached item, loaded on a miss outside the cache's locks (see {@link CacheLoads}). */
+  public ItemResponse get(long id, LongFunction<ItemResponse> loader){
+    return CacheLoads.get(byId, id, loader::apply);
+  }
+
+  public List<ItemResponse> list(Supplier<List<ItemResponse>> loader){
+    var s = snapshot;
+    long v = version.current();
+    if(s != null && s.version() == v && System.nanoTime() - s.loadedAt() < ttl.toNanos()){
+      listHits.increment();
+      return s.items();
+    }
+    listMisses.increment();
+    var items = List.copyOf(loader.get());
+    publishLock.lock();
+    try {
+      if(version.current() == v){
+        snapshot = new Snapshot(v, System.nanoTime(), items);
+        items.stream().filter(i -> i.itemId() != null).forEach(i -> byId.synchronous().put(i.itemId(), i));
+      }
+    } finally {
+      publishLock.unlock();
+    }
+    return items;
+  }
+
+  /** Drops the given items and the list snapshot, after the surrounding transaction commits if there is one. */
+  public void invalidate(Collection<Long> itemIds){
+    var ids = itemIds.stream().filter(Objects::nonNull).toList();
+    if(TransactionSynchronizationManager.isSynchronizationActive()){
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override public void afterCommit(){ evict(ids); }
+      });
+    } else {
+      evict(ids);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBillCreated(BillCreatedEvent event){
+    evict(event.bill().items().stream().map(BillItemResponse::itemId).toList());
+  }
+
+  private void evict(List<Long> ids){
+    publishLock.lock();
+    try {
+      version.bump();
+      snapshot = null;
+      byId.synchronous().invalidateAll(ids);
+    } finally {
+      publishLock.unlock();
+    }
+  }
+}
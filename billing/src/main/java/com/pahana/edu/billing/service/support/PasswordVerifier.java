@@ -0,0 +1,79 @@
+// service/support/PasswordVerifier.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.*;
+
+/**
+ * Runs the BCrypt check of each login on a small dedicated pool, so a burst of sign-ins at opening time cannot
+ * tie up the request threads checkout needs. The pool has {@code app.security.login.threads} workers (0 means
+ * half the cores) and queues at most {@code app.security.login.queue-capacity} checks; beyond that a login is
+ * shed at once with {@link ServiceBusyException}.
+ *
+ * <p>A hash stored at a lower cost than the encoder's is re-encoded after a successful check. Check latency is
+ * recorded as {@code auth.password.verify} by outcome, re-encoding as {@code auth.password.rehash}, and the pool's
+ * queue depth and wait times as the {@code executor.*} meters tagged {@code name=login}.
+ */
+@Component
+public class PasswordVerifier implements DisposableBean {
+  private final PasswordEncoder encoder;
+  private final ThreadPoolExecutor pool;
+  private final ExecutorService monitored;
+  private final Timer matched;
+  private final Timer mismatched;
+  private final Timer rehashed;
+
+  /** Outcome of one check; {@code upgradedHash} is set when the stored hash should be replaced with it. */
+  public record Verification(boolean matches, String upgradedHash) {}
+
+  public PasswordVerifier(PasswordEncoder encoder, MeterRegistry registry,
+                          @Value("${app.security.login.threads:0}") int threads,
+                          @Value("${app.security.login.queue-capacity:64}") int queueCapacity){
+    int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    this.encoder = encoder;
+    this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"));
+    this.monitored = ExecutorServiceMetrics.monitor(registry, pool, "login");
+    this.matched = verifyTimer(registry, "match");
+    this.mismatched = verifyTimer(registry, "mismatch");
+    this.rehashed = Timer.builder("auth.password.rehash").publishPercentileHistogram().register(registry);
+  }
+
+  /**
+   * Checks {@code rawPassword} against {@code encodedPassword} on the login pool.
+   * @throws ServiceBusyException if the pool's queue is full
+   */
+  public CompletableFuture<Verification> verify(String rawPassword, String encodedPassword){
+    try {
+      return CompletableFuture.supplyAsync(() -> check(rawPassword, encodedPassword), monitored);
+    } catch(RejectedExecutionException ex) {
+      throw new ServiceBusyException("Too many sign-ins in progress, please retry");
+    }
+  }
+
+  private Verification check(String rawPassword, String encodedPassword){
+    long start = System.nanoTime();
+    boolean matches = encoder.matches(rawPassword, encodedPassword);
+    (matches ? matched : mismatched).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    // upgradeEncoding rejects strings that are not BCrypt at all, so only ask once the hash has matched
+    if(!matches || !encoder.upgradeEncoding(encodedPassword)) return new Verification(matches, null);
+    return new Verification(true, rehashed.record(() -> encoder.encode(rawPassword)));
+  }
+
+  @Override
+  public void destroy(){
+    pool.shutdown();
+  }
+
+  private static Timer verifyTimer(MeterRegistry registry, String outcome){
+    return Timer.builder("auth.password.verify").tag("outcome", outcome).publishPercentileHistogram().register(registry);
+  }
+}
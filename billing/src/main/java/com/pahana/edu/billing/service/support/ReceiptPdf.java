@@ -0,0 +1,73 @@
+// service/support/ReceiptPdf.java
+package com.pahana.edu.billing.service.support;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rendered receipt lines as a one-page PDF in Courier, sized to the text, so the emailed copy has the
+ * same layout as the printed one. Characters outside Latin-1 are replaced with {@code ?}.
+ */
+final class ReceiptPdf {
+  private static final int FONT_SIZE = 9;
+  private static final int LEADING = 11;
+  private static final int MARGIN = 18;
+  // Courier glyphs are 600/1000 em wide
+  private static final double CHAR_WIDTH = 0.6 * FONT_SIZE;
+
+  private ReceiptPdf(){}
+
+  static byte[] write(List<String> lines){
+    int columns = Math.max(1, lines.stream().mapToInt(String::length).max().orElse(1));
+    int width = (int) Math.ceil(2 * MARGIN + columns * CHAR_WIDTH);
+    int height = 2 * MARGIN + Math.max(1, lines.size()) * LEADING;
+
+    var content = new StringBuilder(lines.size() * 56)
+        .append("BT /F1 ").append(FONT_SIZE).append(" Tf ").append(LEADING).append(" TL ")
+        .append(MARGIN).append(' ').append(height - MARGIN - FONT_SIZE).append(" Td\n");
+    for(var line : lines) escape(content.append('('), line).append(") Tj T*\n");
+    content.append("ET");
+    var stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+    var out = new ByteArrayOutputStream(stream.length + 640);
+    var offsets = new int[5];
+    ascii(out, "%PDF-1.4\n");
+    offsets[0] = object(out, 1, "<< /Type /Catalog /Pages 2 0 R >>");
+    offsets[1] = object(out, 2, "<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+    offsets[2] = object(out, 3, "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + width + " " + height + "] "
+        + "/Resources << /Font << /F1 4 0 R >> >> /Contents 5 0 R >>");
+    offsets[3] = object(out, 4, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+    offsets[4] = out.size();
+    ascii(out, "5 0 obj\n<< /Length " + stream.length + " >>\nstream\n");
+    out.writeBytes(stream);
+    ascii(out, "\nendstream\nendobj\n");
+
+    int xref = out.size();
+    var table = new StringBuilder("xref\n0 6\n0000000000 65535 f \n");
+    for(int offset : offsets) table.append(String.format("%010d 00000 n \n", offset));
+    table.append("trailer\n<< /Size 6 /Root 1 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+    ascii(out, table.toString());
+    return out.toByteArray();
+  }
+
+  private static int object(ByteArrayOutputStream out, int number, String body){
+    int offset = out.size();
+    ascii(out, number + " 0 obj\n" + body + "\nendobj\n");
+    return offset;
+  }
+
+  private static StringBuilder escape(StringBuilder out, String line){
+    for(int i = 0; i < line.length(); i++){
+      char c = line.charAt(i);
+      if(c == '\\' || c == '(' || c == ')') out.append('\\').append(c);
+      else if(c < 0x20 || (c >= 0x7F && c < 0xA0) || c > 0xFF) out.append('?');
+      else out.append(c);
+    }
+    return out;
+  }
+
+  private static void ascii(ByteArrayOutputStream out, String text){
+    out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+  }
+}
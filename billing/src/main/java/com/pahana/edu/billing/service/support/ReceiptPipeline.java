@@ -0,0 +1,107 @@
+// service/support/ReceiptPipeline.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.repository.ReceiptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.*;
+
+/**
+ * Renders the text and PDF receipt of every new bill off the checkout thread and stores both in
+ * {@code receipts}.
+ *
+ * <p>Jobs are queued after the bill commits onto {@code app.receipts.threads} platform workers with a queue of
+ * {@code app.receipts.queue-capacity}. When the queue is full the job is dropped, never run on the caller, and
+ * counted as {@code receipts.dropped}; the receipt is then rendered on its first {@code GET}. The template is
+ * compiled once at startup. Render time is recorded as {@code receipts.render}, failures as
+ * {@code receipts.failed}, and queue depth as the {@code executor.*} meters tagged {@code name=receipts}.
+ */
+@Slf4j
+@Component
+public class ReceiptPipeline implements DisposableBean {
+  private final ReceiptRepository receiptRepo;
+  private final ReceiptTemplate template;
+  private final ThreadPoolExecutor pool;
+  private final ExecutorService monitored;
+  private final Timer renderTime;
+  private final Counter dropped;
+  private final Counter failed;
+
+  /** Both formats of one receipt. */
+  public record Rendered(byte[] text, byte[] pdf) {
+    public byte[] as(ReceiptFormat format){ return format == ReceiptFormat.PDF ? pdf : text; }
+  }
+
+  public ReceiptPipeline(ReceiptRepository receiptRepo, MeterRegistry registry,
+                         @Value("${app.receipts.template:classpath:receipts/receipt.txt}") Resource template,
+                         @Value("${app.receipts.store-name:Pahana Edu Bookshop}") String storeName,
+                         @Value("${app.receipts.threads:2}") int threads,
+                         @Value("${app.receipts.queue-capacity:500}") int queueCapacity) throws IOException {
+    this.receiptRepo = receiptRepo;
+    this.template = ReceiptTemplate.compile(template.getContentAsString(StandardCharsets.UTF_8), storeName);
+    this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("receipt-"));
+    this.monitored = ExecutorServiceMetrics.monitor(registry, pool, "receipts");
+    this.renderTime = Timer.builder("receipts.render").publishPercentileHistogram().register(registry);
+    this.dropped = registry.counter("receipts.dropped");
+    this.failed = registry.counter("receipts.failed");
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBillCreated(BillCreatedEvent event){
+    var bill = event.bill();
+    try {
+      monitored.execute(() -> {
+        try {
+          renderAndStore(bill);
+        } catch(RuntimeException ex) {
+          failed.increment();
+          log.warn("Rendering receipt of bill {} failed: {}", bill.billId(), ex.getMessage());
+        }
+      });
+    } catch(RejectedExecutionException ex) {
+      // the bill is committed; shed the render rather than hold up checkout, GET renders it on demand
+      dropped.increment();
+    }
+  }
+
+  /** Renders both formats of {@code bill} and stores them unless another render of the same bill got there first. */
+  public Rendered renderAndStore(BillResponse bill){
+    var rendered = render(bill);
+    try {
+      receiptRepo.insert(bill.billId(), rendered.text(), rendered.pdf(), Instant.now());
+    } catch(DataIntegrityViolationException ex) {
+      // the queued job and an on-demand GET raced; both rendered the same immutable bill
+    }
+    return rendered;
+  }
+
+  Rendered render(BillResponse bill){
+    return renderTime.record(() -> {
+      var lines = template.render(bill);
+      var text = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+      return new Rendered(text, ReceiptPdf.write(lines));
+    });
+  }
+
+  @Override
+  public void destroy(){
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,148 @@
+// service/support/ReceiptTemplate.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed-width receipt layout, compiled once into literal and field segments so rendering a bill is string
+ * appends only.
+ *
+ * <p>Syntax: {@code {{field}}} as is, {@code {{field<N}}} left-aligned, {@code {{field>N}}} right-aligned and
+ * {@code {{field^N}}} centred in N columns (truncated if longer). Lines between {@code {{#items}}} and
+ * {@code {{/items}}} repeat per bill line and may also use the item fields. Unknown fields fail at compile time.
+ */
+public final class ReceiptTemplate {
+  private static final Pattern FIELD = Pattern.compile("\\{\\{(\\w+)(?:([<>^])(\\d+))?}}");
+  private static final String ITEMS_START = "{{#items}}";
+  private static final String ITEMS_END = "{{/items}}";
+
+  private static final Map<String, Function<BillResponse, Object>> BILL_FIELDS = Map.of(
+      "billNumber", BillResponse::billNumber,
+      "billDate", BillResponse::billDate,
+      "customerName", BillResponse::customerName,
+      "subTotal", b -> money(b.totalAmount() == null ? null : b.totalAmount() - zeroIfNull(b.taxAmount())),
+      "taxAmount", b -> money(b.taxAmount()),
+      "totalAmount", b -> money(b.totalAmount()));
+  private static final Map<String, Function<BillItemResponse, Object>> ITEM_FIELDS = Map.of(
+      "itemName", BillItemResponse::itemName,
+      "quantity", BillItemResponse::quantity,
+      "unitPrice", i -> money(i.unitPrice()),
+      "subtotal", i -> money(i.subtotal()));
+
+  @FunctionalInterface
+  private interface Segment {
+    void append(StringBuilder out, BillResponse bill, BillItemResponse item);
+  }
+
+  private sealed interface Part permits Line, Items {}
+
+  private record Line(List<Segment> segments) implements Part {
+    String render(BillResponse bill, BillItemResponse item){
+      var out = new StringBuilder(48);
+      for(var s : segments) s.append(out, bill, item);
+      return out.toString().stripTrailing();
+    }
+  }
+
+  private record Items(List<Line> lines) implements Part {}
+
+  private final List<Part> parts;
+
+  private ReceiptTemplate(List<Part> parts){ this.parts = parts; }
+
+  /** @param storeName substituted for {@code {{store}}}, once, here */
+  public static ReceiptTemplate compile(String source, String storeName){
+    var parts = new ArrayList<Part>();
+    List<Line> items = null;
+    for(var text : source.lines().toList()){
+      switch(text.strip()){
+        case ITEMS_START -> {
+          if(items != null) throw new IllegalArgumentException("Nested " + ITEMS_START + " in receipt template");
+          items = new ArrayList<>();
+        }
+        case ITEMS_END -> {
+          if(items == null) throw new IllegalArgumentException(ITEMS_END + " without " + ITEMS_START);
+          parts.add(new Items(List.copyOf(items)));
+          items = null;
+        }
+        default -> {
+          var line = compileLine(text, storeName, items != null);
+          if(items != null) items.add(line);
+          else parts.add(line);
+        }
+      }
+    }
+    if(items != null) throw new IllegalArgumentException("Unclosed " + ITEMS_START + " in receipt template");
+    return new ReceiptTemplate(List.copyOf(parts));
+  }
+
+  public List<String> render(BillResponse bill){
+    var billItems = bill.items() == null ? List.<BillItemResponse>of() : bill.items();
+    var out = new ArrayList<String>(parts.size() + billItems.size());
+    for(var part : parts){
+      if(part instanceof Line line) out.add(line.render(bill, null));
+      else if(part instanceof Items block)
+        for(var item : billItems) for(var line : block.lines()) out.add(line.render(bill, item));
+    }
+    return out;
+  }
+
+  private static Line compileLine(String text, String storeName, boolean inItems){
+    var segments = new ArrayList<Segment>();
+    var m = FIELD.matcher(text);
+    int at = 0;
+    while(m.find()){
+      if(m.start() > at) segments.add(literal(text.substring(at, m.start())));
+      int width = m.group(3) == null ? 0 : Integer.parseInt(m.group(3));
+      char align = m.group(2) == null ? '<' : m.group(2).charAt(0);
+      var name = m.group(1);
+      if(name.equals("store")) segments.add(literal(pad(storeName, width, align)));
+      else segments.add(field(name, width, align, inItems));
+      at = m.end();
+    }
+    if(at < text.length()) segments.add(literal(text.substring(at)));
+    return new Line(List.copyOf(segments));
+  }
+
+  private static Segment literal(String text){
+    return (out, bill, item) -> out.append(text);
+  }
+
+  private static Segment field(String name, int width, char align, boolean inItems){
+    var itemField = ITEM_FIELDS.get(name);
+    if(itemField != null && inItems)
+      return (out, bill, item) -> out.append(pad(Objects.toString(itemField.apply(item), ""), width, align));
+    var billField = BILL_FIELDS.get(name);
+    if(billField != null)
+      return (out, bill, item) -> out.append(pad(Objects.toString(billField.apply(bill), ""), width, align));
+    throw new IllegalArgumentException("Unknown receipt field {{" + name + "}}"
+        + (itemField != null ? " outside " + ITEMS_START : ""));
+  }
+
+  private static String pad(String value, int width, char align){
+    if(width == 0) return value;
+    if(value.length() >= width) return value.substring(0, width);
+    int gap = width - value.length();
+    int left = switch(align){
+      case '>' -> gap;
+      case '^' -> gap / 2;
+      default -> 0;
+    };
+    return " ".repeat(left) + value + " ".repeat(gap - left);
+  }
+
+  private static String money(Double value){
+    return value == null ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+  }
+
+  private static double zeroIfNull(Double value){ return value == null ? 0 : value; }
+}
@@ -0,0 +1,37 @@
+// service/support/SalesRollupUpdater.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.domain.event.BillPaidEvent;
+import com.pahana.edu.billing.repository.SalesRollupRepository;
+import com.pahana.edu.billing.repository.SalesRollupRepository.ItemDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+
+/**
+ * Keeps the sales rollups in step with bills. Plain (synchronous) listeners, so the rollup rows change in the
+ * same transaction as the bill and roll back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesRollupUpdater {
+  private final SalesRollupRepository rollups;
+
+  @EventListener
+  public void onBillCreated(BillCreatedEvent event){
+    var bill = event.bill();
+    var items = new HashMap<Long, ItemDelta>();
+    for(var line : bill.items()){
+      items.merge(line.itemId(), new ItemDelta(line.quantity(), line.subtotal()),
+          (a, b) -> new ItemDelta(a.quantity() + b.quantity(), a.revenue() + b.revenue()));
+    }
+    rollups.addBill(bill.billDate(), bill.paymentStatus(), bill.totalAmount(), bill.taxAmount(), items);
+  }
+
+  @EventListener
+  public void onBillPaid(BillPaidEvent event){
+    rollups.moveStatus(event.previousStatus(), event.bill().paymentStatus(), event.bill().totalAmount());
+  }
+}
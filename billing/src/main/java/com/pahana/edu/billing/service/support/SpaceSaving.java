@@ -0,0 +1,63 @@
+// service/support/SpaceSaving.java
+package com.pahana.edu.billing.service.support;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Weighted space-saving summary (Metwally et al.): tracks at most {@code capacity} items and, once full, hands
+ * the slot of the smallest counter to each new item, which inherits that count as its possible overestimate.
+ * Every item whose true total exceeds {@code total / capacity} is guaranteed to be tracked, and a tracked
+ * item's count is never below its true total nor above it by more than {@link Counter#error()}.
+ *
+ * <p>Not thread-safe; {@link TopItemsTracker} guards each instance with a lock.
+ */
+final class SpaceSaving {
+  private static final Comparator<Counter> BY_COUNT =
+      Comparator.comparingLong(Counter::count).thenComparingLong(Counter::itemId);
+
+  private final int capacity;
+  private final Map<Long, Counter> counters = new HashMap<>();
+  // same counters ordered by count, so the eviction victim is always first()
+  private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+  record Counter(long itemId, String itemName, long count, long error) {}
+
+  SpaceSaving(int capacity){
+    if(capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+    this.capacity = capacity;
+  }
+
+  void offer(long itemId, String itemName, long weight){
+    if(weight <= 0) return;
+    var current = counters.get(itemId);
+    Counter next;
+    if(current != null){
+      byCount.remove(current);
+      next = new Counter(itemId, itemName != null ? itemName : current.itemName(), current.count() + weight, current.error());
+    } else if(counters.size() < capacity){
+      next = new Counter(itemId, itemName, weight, 0);
+    } else {
+      var victim = byCount.pollFirst();
+      counters.remove(victim.itemId());
+      next = new Counter(itemId, itemName, victim.count() + weight, victim.count());
+    }
+    counters.put(itemId, next);
+    byCount.add(next);
+  }
+
+  /** Smallest tracked count once full (the most an untracked item can have been sold), otherwise 0. */
+  long floor(){
+    return counters.size() < capacity || byCount.isEmpty() ? 0 : byCount.first().count();
+  }
+
+  void forEach(Consumer<Counter> action){ counters.values().forEach(action); }
+
+  void clear(){
+    counters.clear();
+    byCount.clear();
+  }
+}
@@ -0,0 +1,224 @@
+// service/support/StockLedger.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory stock reservation ledger for hot items.
+ *
+ * <p>Checkout reserves quantities with a CAS on a per-item counter instead of taking an InnoDB row lock;
+ * committed sales are accumulated as net deltas and written to {@code items} in one JDBC batch per flush.
+ * Disabled unless {@code app.billing.stock-ledger.enabled=true}; the ledger assumes it is the only writer of
+ * stock for the items it tracks, so admin stock edits must go through {@link #forget(long)}.
+ *
+ * <p>A committed delta is never dropped. A slot that stops being tracked, by {@link #forget(long)} or because the
+ * database rejected its flush, is retired: it keeps its unflushed and in-flight quantities until they are
+ * flushed or rolled back, and the item's next slot is seeded from the row minus those quantities.
+ */
+@Slf4j
+@Component
+public class StockLedger {
+  private final ItemRepository itemRepo;
+  private final boolean enabled;
+  private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+  private final Set<Slot> retired = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  public StockLedger(ItemRepository itemRepo,
+                     @Value("${app.billing.stock-ledger.enabled:false}") boolean enabled){
+    this.itemRepo = itemRepo;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled(){ return enabled; }
+
+  /**
+   * Reserves every quantity or none. Unknown items are seeded from {@code currentStock}, which must be the
+   * persisted stock at the time of the call. Inside a transaction the reservation is released on rollback
+   * and only queued for flushing after commit.
+   * @return the id of the first item that could not be reserved, or empty on success
+   */
+  public Optional<Long> reserve(Map<Long, Integer> quantities, LongFunction<Integer> currentStock){
+    // fixed order keeps the partial-rollback path simple and deterministic
+    var ordered = new TreeMap<>(quantities);
+    List<Map.Entry<Slot, Integer>> taken = new ArrayList<>(ordered.size());
+    for(var e : ordered.entrySet()){
+      var slot = take(e.getKey(), e.getValue(), currentStock);
+      if(slot == null){
+        taken.forEach(t -> t.getKey().release(t.getValue()));
+        return Optional.of(e.getKey());
+      }
+      taken.add(Map.entry(slot, e.getValue()));
+    }
+
+    if(TransactionSynchronizationManager.isSynchronizationActive()){
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override public void afterCompletion(int status){
+          // a slot retired meanwhile still collects the delta; flush writes retired slots too
+          if(status == STATUS_COMMITTED) taken.forEach(t -> t.getKey().commit(t.getValue()));
+          else taken.forEach(t -> t.getKey().release(t.getValue()));
+        }
+      });
+    } else {
+      taken.forEach(t -> t.getKey().commit(t.getValue()));
+    }
+    return Optional.empty();
+  }
+
+  private Slot take(long itemId, int qty, LongFunction<Integer> currentStock){
+    while(true){
+      var slot = slots.computeIfAbsent(itemId, id -> new Slot(id, currentStock.apply(id) - outstanding(id)));
+      // announce before checking, see retire()
+      slot.inFlight.addAndGet(qty);
+      if(slot.retired){
+        slot.inFlight.addAndGet(-qty);
+        continue;
+      }
+      if(slot.tryTake(qty)) return slot;
+      slot.inFlight.addAndGet(-qty);
+      return null;
+    }
+  }
+
+  // quantities of retired slots that the row does not reflect yet
+  private int outstanding(long itemId){
+    int sum = 0;
+    for(var slot : retired) if(slot.itemId == itemId) sum += slot.pending.get() + slot.inFlight.get();
+    return sum;
+  }
+
+  /** Ledger view of the available stock, if the item is tracked. */
+  public Optional<Integer> available(long itemId){
+    var slot = slots.get(itemId);
+    return slot == null ? Optional.empty() : Optional.of(slot.available.get());
+  }
+
+  /**
+   * Stops tracking an item, e.g. before its stock is set or after it was deleted. Sales committed so far are
+   * written at once; sales still in flight are written by a later flush.
+   */
+  public void forget(long itemId){
+    var slot = slots.get(itemId);
+    if(slot == null) return;
+    retire(slot);
+    flush();
+  }
+
+  // flag first: a reservation that still saw the slot live has announced itself before it is in the retired set
+  private void retire(Slot slot){
+    slot.retired = true;
+    retired.add(slot);
+    slots.remove(slot.itemId, slot);
+  }
+
+  @Scheduled(fixedDelayString = "${app.billing.stock-ledger.flush-interval-ms:500}")
+  public void flush(){
+    if(!enabled) return;
+    flushLock.lock();
+    try {
+      // deltas stay on their slots until written, so a failed write loses nothing and reseeding still sees them
+      Map<Slot, Integer> batch = new HashMap<>();
+      Map<Long, Integer> deltas = new HashMap<>();
+      for(var slot : slots.values()) collect(slot, batch, deltas);
+      for(var slot : retired) collect(slot, batch, deltas);
+      if(!deltas.isEmpty()) write(deltas, batch);
+      retired.removeIf(Slot::drained);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private static void collect(Slot slot, Map<Slot, Integer> batch, Map<Long, Integer> deltas){
+    int d = slot.pending.get();
+    if(d == 0) return;
+    batch.put(slot, d);
+    deltas.merge(slot.itemId, d, Integer::sum);
+  }
+
+  private void write(Map<Long, Integer> deltas, Map<Slot, Integer> batch){
+    Set<Long> rejected;
+    try {
+      rejected = itemRepo.decrementStock(deltas);
+    } catch(RuntimeException ex) {
+      log.error("Stock ledger flush failed, will retry: {}", ex.getMessage());
+      return;
+    }
+
+    Set<Long> unwritten = Set.of();
+    if(!rejected.isEmpty()){
+      // the row holds less than we sold, so stock was changed behind our back; the sales are committed, so
+      // they are written anyway and the item is reseeded from the database
+      var forced = new HashMap<>(deltas);
+      forced.keySet().retainAll(rejected);
+      log.warn("Stock ledger flush rejected for items {}; writing them unguarded and reseeding", forced);
+      try {
+        itemRepo.forceDecrementStock(forced);
+      } catch(RuntimeException ex) {
+        log.error("Stock ledger forced flush failed, will retry: {}", ex.getMessage());
+        unwritten = rejected;
+      }
+    }
+    for(var e : batch.entrySet())
+      if(!unwritten.contains(e.getKey().itemId)) e.getKey().pending.addAndGet(-e.getValue());
+    rejected.forEach(id -> {
+      var slot = slots.get(id);
+      if(slot != null) retire(slot);
+    });
+  }
+
+  @PreDestroy
+  void flushOnShutdown(){ flush(); }
+
+  private static final class Slot {
+    final long itemId;
+    final AtomicInteger available;
+    final AtomicInteger pending = new AtomicInteger();   // committed, not yet written
+    final AtomicInteger inFlight = new AtomicInteger();  // reserved by transactions still open
+    volatile boolean retired;
+
+    Slot(long itemId, int available){
+      this.itemId = itemId;
+      this.available = new AtomicInteger(available);
+    }
+
+    boolean tryTake(int qty){
+      int cur;
+      do {
+        cur = available.get();
+        if(cur < qty) return false;
+      } while(!available.compareAndSet(cur, cur - qty));
+      return true;
+    }
+
+    // pending before inFlight, so a slot read as inFlight == 0 and then pending == 0 has nothing left to write
+    void commit(int qty){
+      pending.addAndGet(qty);
+      inFlight.addAndGet(-qty);
+    }
+
+    void release(int qty){
+      available.addAndGet(qty);
+      inFlight.addAndGet(-qty);
+    }
+
+    boolean drained(){ return inFlight.get() == 0 && pending.get() == 0; }
+  }
+}
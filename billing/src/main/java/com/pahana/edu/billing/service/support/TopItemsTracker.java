@@ -0,0 +1,125 @@
+// service/support/TopItemsTracker.java
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.report.TopItem;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.BillItemRepository.DailyItemQuantity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory best-seller counts for the last {@code app.reports.top-items.days} calendar days, by units sold.
+ *
+ * <p>Each day has its own bounded {@link SpaceSaving} summary in a ring indexed by epoch day; a slot is reset
+ * the first time a newer day lands in it, so windows slide without any sweeping. Bills are counted after their
+ * transaction commits ({@link BillCreatedEvent}) and the ring is seeded from {@code bill_items} at startup by
+ * {@code TopItemsInitializer}. Queries merge the requested days' summaries and never touch the database.
+ */
+@Component
+public class TopItemsTracker {
+  private final int maxDays;
+  private final Slot[] ring;
+
+  private static final class Slot {
+    final ReentrantLock lock = new ReentrantLock();
+    final SpaceSaving summary;
+    long epochDay = Long.MIN_VALUE;
+
+    Slot(int capacity){ this.summary = new SpaceSaving(capacity); }
+  }
+
+  public TopItemsTracker(@Value("${app.reports.top-items.days:7}") int maxDays,
+                         @Value("${app.reports.top-items.capacity:500}") int capacity){
+    if(maxDays < 1) throw new IllegalArgumentException("app.reports.top-items.days must be positive");
+    this.maxDays = maxDays;
+    this.ring = new Slot[maxDays];
+    for(int i = 0; i < maxDays; i++) ring[i] = new Slot(capacity);
+  }
+
+  public int maxDays(){ return maxDays; }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBillCreated(BillCreatedEvent event){
+    var bill = event.bill();
+    var today = LocalDate.now();
+    for(var line : bill.items()) offer(bill.billDate(), line.itemId(), line.itemName(), line.quantity(), today);
+  }
+
+  /** Replaces every count with {@code rows}; call before the app takes traffic. */
+  public void rebuild(List<? extends DailyItemQuantity> rows, LocalDate today){
+    for(var slot : ring){
+      slot.lock.lock();
+      try {
+        slot.summary.clear();
+        slot.epochDay = Long.MIN_VALUE;
+      } finally {
+        slot.lock.unlock();
+      }
+    }
+    for(var row : rows) offer(row.getBillDate(), row.getItemId(), row.getItemName(), row.getQuantity(), today);
+  }
+
+  void offer(LocalDate billDate, Long itemId, String itemName, Number quantity, LocalDate today){
+    if(billDate == null || itemId == null || quantity == null) return;
+    long day = billDate.toEpochDay();
+    // back-dated or future bills fall outside every window we can serve
+    if(day > today.toEpochDay() || day <= today.toEpochDay() - maxDays) return;
+    var slot = ring[(int) Math.floorMod(day, (long) maxDays)];
+    slot.lock.lock();
+    try {
+      if(slot.epochDay < day){
+        slot.summary.clear();
+        slot.epochDay = day;
+      }
+      slot.summary.offer(itemId, itemName, quantity.longValue());
+    } finally {
+      slot.lock.unlock();
+    }
+  }
+
+  /** Best sellers of the {@code days} calendar days ending {@code today}, most units first. */
+  public List<TopItem> top(LocalDate today, int days, int limit){
+    if(days < 1 || days > maxDays) throw new BadRequestException("days must be between 1 and "+maxDays);
+    var merged = new HashMap<Long, Merged>();
+    // an item missing from a full day's summary may still have sold up to that day's floor; counting every item
+    // at least the floor of each day keeps quantitySold an upper bound, and the floors cancel where it is present
+    long floors = 0;
+    for(long day = today.toEpochDay() - days + 1; day <= today.toEpochDay(); day++){
+      var slot = ring[(int) Math.floorMod(day, (long) maxDays)];
+      slot.lock.lock();
+      try {
+        if(slot.epochDay != day) continue;
+        long floor = slot.summary.floor();
+        floors += floor;
+        slot.summary.forEach(c -> {
+          var m = merged.computeIfAbsent(c.itemId(), id -> new Merged());
+          m.count += c.count() - floor;
+          m.error += c.error() - floor;
+          if(c.itemName() != null) m.itemName = c.itemName();
+        });
+      } finally {
+        slot.lock.unlock();
+      }
+    }
+    long allFloors = floors;
+    return merged.entrySet().stream()
+        .map(e -> new TopItem(e.getKey(), e.getValue().itemName,
+            e.getValue().count + allFloors, e.getValue().error + allFloors))
+        .sorted(Comparator.comparingLong(TopItem::quantitySold).reversed().thenComparing(TopItem::itemId))
+        .limit(limit)
+        .toList();
+  }
+
+  private static final class Merged {
+    String itemName;
+    long count;
+    long error;
+  }
+}
@@ -1,3 +1,10 @@
-INSERT INTO items(item_name, category, price, stock_quantity) VALUES
- ('A4 Exercise Book', 'Stationery', 200.00, 500),
- ('HB Pencil', 'Stationery', 50.00, 1000);
+-- Sample catalogue. Ids are explicit because items use a pooled table generator (see IdGenerators): the
+-- id_sequences row starts the generator above them. Re-running the script never moves a row or sequence back.
+INSERT INTO items(item_id, item_name, category, price, stock_quantity) VALUES
+ (1, 'A4 Exercise Book', 'Stationery', 200.00, 500),
+ (2, 'HB Pencil', 'Stationery', 50.00, 1000)
+ON DUPLICATE KEY UPDATE item_id = item_id;
+
+-- same seeding rule as IdSequenceInitializer: max seeded id + allocation size
+INSERT INTO id_sequences(sequence_name, next_val) VALUES ('items', 52)
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, 52);
@@ -1,6 +1,7 @@
 package com.pahana.edu.billing.api;
 
 import com.pahana.edu.billing.domain.dto.auth.*;
+import com.pahana.edu.billing.exception.ServiceBusyException;
 import com.pahana.edu.billing.service.interfaces.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -8,9 +9,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,26 +38,30 @@ class AuthControllerTest {
     @Test
     void login_ShouldReturnAuthResponse_WhenValidCredentials() throws Exception {
         LoginRequest request = new LoginRequest("testuser", "password123");
-        AuthResponse response = new AuthResponse("jwt-token");
+        AuthResponse response = new AuthResponse("jwt-token", "testuser", "USER");
         
-        when(authService.login("testuser", "password123")).thenReturn(response);
+        when(authService.loginAsync("testuser", "password123")).thenReturn(CompletableFuture.completedFuture(response));
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult pending = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.role").value("USER"));
 
-        verify(authService).login("testuser", "password123");
+        verify(authService).loginAsync("testuser", "password123");
     }
 
     @Test
     void login_ShouldReturnError_WhenInvalidCredentials() throws Exception {
         LoginRequest request = new LoginRequest("invaliduser", "wrongpassword");
         
-        when(authService.login("invaliduser", "wrongpassword"))
+        when(authService.loginAsync("invaliduser", "wrongpassword"))
             .thenThrow(new RuntimeException("Invalid credentials"));
 
         mockMvc.perform(post("/api/auth/login")
@@ -58,7 +69,39 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isInternalServerError());
 
-        verify(authService).login("invaliduser", "wrongpassword");
+        verify(authService).loginAsync("invaliduser", "wrongpassword");
+    }
+
+    @Test
+    void login_ShouldReturnUnauthorized_WhenPasswordCheckFails() throws Exception {
+        LoginRequest request = new LoginRequest("testuser", "wrongpassword");
+
+        when(authService.loginAsync("testuser", "wrongpassword"))
+            .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials")));
+
+        MvcResult pending = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid credentials"));
+    }
+
+    @Test
+    void login_ShouldShedLoadWithRetryAfter_WhenLoginPoolIsFull() throws Exception {
+        LoginRequest request = new LoginRequest("testuser", "password123");
+
+        when(authService.loginAsync("testuser", "password123"))
+            .thenThrow(new ServiceBusyException("Too many sign-ins in progress, please retry"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
     }
 
     @Test
@@ -78,4 +121,21 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnsupportedMediaType());
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_ShouldRevokeCallersTokens() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                .principal(new UsernamePasswordAuthenticationToken("testuser", null, List.of())))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logoutEverywhere("testuser");
+    }
+
+    @Test
+    void logout_ShouldReturnUnauthorized_WithoutBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+
+        verify(authService, never()).logoutEverywhere(anyString());
+    }
+}
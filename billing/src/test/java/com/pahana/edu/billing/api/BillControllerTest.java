@@ -1,10 +1,15 @@
 package com.pahana.edu.billing.api;
 
 import com.pahana.edu.billing.domain.dto.bill.*;
+import com.pahana.edu.billing.service.interfaces.BillBatchService;
+import com.pahana.edu.billing.service.interfaces.BillExportService;
 import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.interfaces.ReceiptService;
+import com.pahana.edu.billing.service.support.IdempotencyKeyStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -15,15 +20,19 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+import com.pahana.edu.billing.domain.enums.ExportFormat;
 import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import java.io.OutputStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(BillController.class)
+@WebMvcTest(value = BillController.class, excludeAutoConfiguration = SecurityAutoConfiguration.class)
 class BillControllerTest {
 
     @Autowired
@@ -32,6 +41,18 @@ class BillControllerTest {
     @MockBean
     private BillingService billingService;
 
+    @MockBean
+    private BillExportService billExportService;
+
+    @MockBean
+    private BillBatchService billBatchService;
+
+    @MockBean
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @MockBean
+    private ReceiptService receiptService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,6 +73,53 @@ class BillControllerTest {
         verify(billingService).create(any(BillCreateRequest.class));
     }
 
+    @Test
+    void create_WithNonPositiveQuantity_ShouldReturnBadRequest() throws Exception {
+        BillCreateRequest request = new BillCreateRequest(1L, "BILL-001", LocalDate.now(),
+                List.of(new BillItemRequest(1L, -2, null)));
+
+        mockMvc.perform(post("/api/bills")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(billingService, never()).create(any(BillCreateRequest.class));
+    }
+
+    @Test
+    void create_WithIdempotencyKey_ShouldRecordKeyOnFirstAttempt() throws Exception {
+        BillCreateRequest request = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), Collections.emptyList());
+        BillResponse response = new BillResponse(7L, "MAIN-20250101-000001", 1L, "John Doe", LocalDate.of(2025, 1, 1), 0.0, 0.0, PaymentStatus.PENDING, Collections.emptyList());
+        when(idempotencyKeyStore.find(eq("till-3-0042"), eq(request), any())).thenReturn(Optional.empty());
+        when(billingService.create(request, "till-3-0042")).thenReturn(response);
+
+        mockMvc.perform(post("/api/bills")
+                .header("Idempotency-Key", "till-3-0042")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.billId").value(7L));
+    }
+
+    @Test
+    void create_WithRepeatedIdempotencyKey_ShouldReplayWithoutCreating() throws Exception {
+        BillCreateRequest request = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), Collections.emptyList());
+        BillResponse response = new BillResponse(7L, "MAIN-20250101-000001", 1L, "John Doe", LocalDate.of(2025, 1, 1), 0.0, 0.0, PaymentStatus.PENDING, Collections.emptyList());
+        when(idempotencyKeyStore.find(eq("till-3-0042"), eq(request), any())).thenReturn(Optional.of(response));
+
+        mockMvc.perform(post("/api/bills")
+                .header("Idempotency-Key", "till-3-0042")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.billId").value(7L));
+
+        verify(billingService, never()).create(any(BillCreateRequest.class));
+        verify(billingService, never()).create(any(BillCreateRequest.class), anyString());
+    }
+
     @Test
     void get_ShouldReturnBill() throws Exception {
         BillResponse response = new BillResponse(1L, "BILL-001", 1L, "John Doe", LocalDate.now(), 10.0, 100.0, PaymentStatus.PENDING, Collections.emptyList());
@@ -72,13 +140,50 @@ class BillControllerTest {
             new BillResponse(2L, "BILL-002", 1L, "John Doe", LocalDate.now(), 20.0, 200.0, PaymentStatus.PAID, Collections.emptyList())
         );
         
-        when(billingService.listByCustomer(1L)).thenReturn(bills);
+        when(billingService.page(1L, null, null)).thenReturn(new BillPage(bills, null));
 
         mockMvc.perform(get("/api/bills").param("customerId", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(billingService).listByCustomer(1L);
+        verify(billingService).page(1L, null, null);
+    }
+
+    @Test
+    void list_ShouldPassCursorAndSizeThrough() throws Exception {
+        BillResponse bill = new BillResponse(3L, "BILL-003", 1L, "John Doe", LocalDate.now(), 10.0, 100.0, PaymentStatus.PENDING, Collections.emptyList());
+
+        when(billingService.page(null, "abc", 1)).thenReturn(new BillPage(List.of(bill), "def"));
+
+        mockMvc.perform(get("/api/bills").param("cursor", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].billId").value(3L))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+
+        verify(billingService).page(null, "abc", 1);
+    }
+
+    @Test
+    void search_ShouldBindFiltersAndReturnTotals() throws Exception {
+        BillResponse bill = new BillResponse(1L, "BILL-001", 1L, "John Doe", LocalDate.of(2025, 1, 5), 10.0, 100.0, PaymentStatus.PAID, Collections.emptyList());
+        var criteria = new BillSearchCriteria("BILL", null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 50.0, null, PaymentStatus.PAID);
+
+        when(billingService.search(criteria, null, null))
+            .thenReturn(new BillSearchResponse(List.of(bill), null, new BillTotals(1, 100.0, 10.0, 100.0, 0.0)));
+
+        mockMvc.perform(get("/api/bills/search")
+                .param("billNumber", "BILL")
+                .param("from", "2025-01-01")
+                .param("to", "2025-01-31")
+                .param("minAmount", "50")
+                .param("status", "PAID"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.totals.billCount").value(1))
+                .andExpect(jsonPath("$.totals.paidAmount").value(100.0));
+
+        verify(billingService).search(criteria, null, null);
     }
 
     @Test
@@ -94,4 +199,77 @@ class BillControllerTest {
 
         verify(billingService).markPaid(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void export_ShouldStreamCsvAttachment() throws Exception {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("billId\n1\n".getBytes());
+            return null;
+        }).when(billExportService).export(eq(ExportFormat.CSV), any());
+
+        var result = mockMvc.perform(get("/api/bills/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=bills.csv"))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("billId\n1\n"));
+    }
+
+    @Test
+    void export_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/bills/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(billExportService);
+    }
+
+    @Test
+    void receipt_ShouldServeTextByDefault() throws Exception {
+        when(receiptService.get(1L, ReceiptFormat.TEXT)).thenReturn("TOTAL 462.00\n".getBytes());
+
+        mockMvc.perform(get("/api/bills/1/receipt"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(header().string("Content-Disposition", "inline; filename=receipt-1.txt"))
+                .andExpect(content().string("TOTAL 462.00\n"));
+    }
+
+    @Test
+    void receipt_ShouldServePdf() throws Exception {
+        when(receiptService.get(1L, ReceiptFormat.PDF)).thenReturn("%PDF-1.4".getBytes());
+
+        mockMvc.perform(get("/api/bills/1/receipt").param("format", "pdf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().bytes("%PDF-1.4".getBytes()));
+    }
+
+    @Test
+    void receipt_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/bills/1/receipt").param("format", "html"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(receiptService);
+    }
+
+    @Test
+    void createBatch_ShouldReturnPerBillResults() throws Exception {
+        var first = new BillCreateRequest(1L, "T1-0001", LocalDate.of(2025, 1, 1), Collections.emptyList());
+        var second = new BillCreateRequest(9L, "T1-0002", LocalDate.of(2025, 1, 1), Collections.emptyList());
+        BillResponse created = new BillResponse(1L, "T1-0001", 1L, "John Doe", LocalDate.of(2025, 1, 1), 0.0, 0.0, PaymentStatus.PENDING, Collections.emptyList());
+        when(billBatchService.createAll(List.of(first, second))).thenReturn(BillBatchResponse.of(List.of(
+                BillBatchResult.ok(0, created), BillBatchResult.failed(1, "Customer not found"))));
+
+        mockMvc.perform(post("/api/bills/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].bill.billNumber").value("T1-0001"))
+                .andExpect(jsonPath("$.results[1].error").value("Customer not found"));
+    }
+}
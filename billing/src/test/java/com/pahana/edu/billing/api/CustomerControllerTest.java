@@ -5,6 +5,7 @@ import com.pahana.edu.billing.service.interfaces.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -18,7 +19,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(CustomerController.class)
+@WebMvcTest(value = CustomerController.class, excludeAutoConfiguration = SecurityAutoConfiguration.class)
 class CustomerControllerTest {
 
     @Autowired
@@ -41,8 +42,8 @@ class CustomerControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L))
-                .andExpect(jsonPath("$.name").value("John Doe"));
+                .andExpect(jsonPath("$.customerId").value(1L))
+                .andExpect(jsonPath("$.accountNumber").value("John Doe"));
 
         verify(customerService).create(any(CustomerCreateRequest.class));
     }
@@ -55,8 +56,8 @@ class CustomerControllerTest {
 
         mockMvc.perform(get("/api/customers/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L))
-                .andExpect(jsonPath("$.name").value("John Doe"));
+                .andExpect(jsonPath("$.customerId").value(1L))
+                .andExpect(jsonPath("$.accountNumber").value("John Doe"));
 
         verify(customerService).get(1L);
     }
@@ -69,14 +70,26 @@ class CustomerControllerTest {
         );
         
         when(customerService.list()).thenReturn(customers);
+        when(customerService.listETag()).thenReturn("\"customers-x-3\"");
 
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"customers-x-3\""))
                 .andExpect(jsonPath("$.length()").value(2));
 
         verify(customerService).list();
     }
 
+    @Test
+    void list_WithCurrentETag_ShouldReturnNotModifiedWithoutListing() throws Exception {
+        when(customerService.listETag()).thenReturn("\"customers-x-3\"");
+
+        mockMvc.perform(get("/api/customers").header("If-None-Match", "\"customers-x-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(customerService, never()).list();
+    }
+
     @Test
     void update_ShouldReturnUpdatedCustomer() throws Exception {
         CustomerCreateRequest request = new CustomerCreateRequest("John Updated", "john.updated@example.com", "1111111111", "789 New St", null, null);
@@ -88,7 +101,7 @@ class CustomerControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value("John Updated"));
+                .andExpect(jsonPath("$.accountNumber").value("John Updated"));
 
         verify(customerService).update(eq(1L), any(CustomerCreateRequest.class));
     }
@@ -102,4 +115,25 @@ class CustomerControllerTest {
 
         verify(customerService).delete(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByAccount_ShouldReturnCustomer() throws Exception {
+        CustomerResponse response = new CustomerResponse(1L, "ACC-1001", "John Doe", "123 Main St", "1234567890", null, null);
+        when(customerService.getByAccountNumber("ACC-1001")).thenReturn(response);
+
+        mockMvc.perform(get("/api/customers/by-account/ACC-1001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(1L))
+                .andExpect(jsonPath("$.accountNumber").value("ACC-1001"));
+    }
+
+    @Test
+    void balance_ShouldReturnRunningTotals() throws Exception {
+        when(customerService.getBalance(1L)).thenReturn(new CustomerBalanceResponse(1L, "ACC-1001", 150.0, 900.0));
+
+        mockMvc.perform(get("/api/customers/1/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.outstandingBalance").value(150.0))
+                .andExpect(jsonPath("$.lifetimeSpend").value(900.0));
+    }
+}
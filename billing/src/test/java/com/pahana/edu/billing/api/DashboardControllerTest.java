@@ -0,0 +1,42 @@
+package com.pahana.edu.billing.api;
+
+import com.pahana.edu.billing.domain.dto.dashboard.BillsSummary;
+import com.pahana.edu.billing.domain.dto.dashboard.DashboardStats;
+import com.pahana.edu.billing.service.interfaces.DashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = DashboardController.class, excludeAutoConfiguration = SecurityAutoConfiguration.class)
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @Test
+    void stats_ShouldReturnRollupFigures() throws Exception {
+        var stats = new DashboardStats(4, 10, Collections.emptyList(),
+                new BillsSummary(8, 3, 5, 0, 800.0, 500.0, 300.0), Collections.emptyList(), Collections.emptyList());
+        when(dashboardService.stats(10)).thenReturn(stats);
+
+        mockMvc.perform(get("/api/dashboard/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCustomers").value(4))
+                .andExpect(jsonPath("$.bills.totalBills").value(8))
+                .andExpect(jsonPath("$.bills.paidAmount").value(500.0));
+
+        verify(dashboardService).stats(10);
+    }
+}
@@ -0,0 +1,177 @@
+package com.pahana.edu.billing.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.BillItem;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pahana.edu.billing.support.QueryCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pins the number of SQL statements each bill, item and customer endpoint may issue against a few hundred bills,
+ * so an N+1 (say, {@code toDto} walking lazy lines, items and customers one row at a time) fails the build instead
+ * of showing up in production. Limits are the current counts; raise one only with a reason.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("perf")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "app.metrics.sql.enabled=true"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+  private static final int ITEMS = 200;
+  private static final int CUSTOMERS = 50;
+  private static final int BILLS_PER_CUSTOMER = 8;
+  private static final int LINES_PER_BILL = 3;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper mapper;
+  @Autowired private ItemRepository itemRepo;
+  @Autowired private CustomerRepository customerRepo;
+  @Autowired private BillRepository billRepo;
+
+  private final List<Item> items = new ArrayList<>();
+  private final List<Customer> customers = new ArrayList<>();
+  private final List<Long> billIds = new ArrayList<>();
+
+  @BeforeAll
+  void seed() {
+    for (int i = 0; i < ITEMS; i++) {
+      items.add(Item.builder().itemName("Item " + i).category("Stationery").price(10.0 + i % 20)
+          .stockQuantity(10_000).build());
+    }
+    itemRepo.saveAll(items);
+    for (int c = 0; c < CUSTOMERS; c++) {
+      customers.add(Customer.builder().accountNumber("ACC-" + c).customerName("Customer " + c).build());
+    }
+    customerRepo.saveAll(customers);
+
+    var bills = new ArrayList<Bill>();
+    for (int c = 0; c < CUSTOMERS; c++) {
+      for (int b = 0; b < BILLS_PER_CUSTOMER; b++) {
+        var bill = Bill.builder().billNumber("SEED-" + c + "-" + b).customer(customers.get(c))
+            .billDate(LocalDate.now().minusDays(b)).paymentStatus(b % 2 == 0 ? PaymentStatus.PENDING : PaymentStatus.PAID)
+            .taxAmount(0.0).totalAmount(30.0).build();
+        for (int l = 0; l < LINES_PER_BILL; l++) {
+          // spread lines over the whole catalog so a page touches many distinct items
+          var item = items.get((c * BILLS_PER_CUSTOMER * LINES_PER_BILL + b * LINES_PER_BILL + l) % ITEMS);
+          bill.getItems().add(BillItem.builder().bill(bill).item(item).quantity(1).unitPrice(10.0).subtotal(10.0).build());
+        }
+        bills.add(bill);
+      }
+    }
+    billRepo.saveAll(bills).forEach(b -> billIds.add(b.getBillId()));
+  }
+
+  @Test
+  void countingIsActive() {
+    assertTrue(countQueries(() -> mockMvc.perform(get("/api/customers/" + customers.get(0).getCustomerId()))
+        .andExpect(status().isOk())) > 0,
+        "statements are not being counted; is MetricsConfig loaded?");
+  }
+
+  // --- BillController
+
+  @Test
+  void billPage_loadsBillsCustomersLinesAndItemsInBatches() {
+    // page query with customers joined, one batch of lines, up to two batches of items (150 lines)
+    assertQueries(4, () -> mockMvc.perform(get("/api/bills").param("size", "50"))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.items.length()").value(50)));
+  }
+
+  @Test
+  void customerBillPage() {
+    assertQueries(4, () -> mockMvc.perform(get("/api/bills").param("customerId", customers.get(3).getCustomerId().toString()))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.items.length()").value(BILLS_PER_CUSTOMER)));
+  }
+
+  @Test
+  void search_firstPageIncludesTotals() {
+    // as the page above, plus the aggregate
+    assertQueries(5, () -> mockMvc.perform(get("/api/bills/search").param("status", "PENDING").param("size", "50"))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.totals.billCount").exists()));
+  }
+
+  @Test
+  void getBill() {
+    // bill, customer, lines, items
+    assertQueries(4, () -> mockMvc.perform(get("/api/bills/" + billIds.get(10))).andExpect(status().isOk()));
+  }
+
+  @Test
+  void createBill() throws Exception {
+    var lines = List.of(new BillItemRequest(items.get(0).getItemId(), 1, null),
+        new BillItemRequest(items.get(1).getItemId(), 2, null), new BillItemRequest(items.get(2).getItemId(), 1, null));
+    var body = mapper.writeValueAsString(new BillCreateRequest(customers.get(0).getCustomerId(), null, null, lines));
+    // customer + items (2), bill number block lease (<= 3), batched stock decrement (1), id blocks (<= 4),
+    // bill + batched lines (2), customer balance (1), sales rollups (3)
+    assertQueries(16, () -> mockMvc.perform(post("/api/bills").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void payBill() {
+    // bill, customer, lines, items, status update, balance, two status rollups
+    assertQueries(8, () -> mockMvc.perform(post("/api/bills/" + billIds.get(20) + "/pay")).andExpect(status().isOk()));
+  }
+
+  // --- ItemController
+
+  @Test
+  void itemList_isOneQueryThenServedFromCache() {
+    int catalog = (int) itemRepo.count();   // the seeded items plus the data.sql sample ones
+    assertQueries(1, () -> mockMvc.perform(get("/api/items"))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(catalog)));
+    assertQueries(0, () -> mockMvc.perform(get("/api/items")).andExpect(status().isOk()));
+  }
+
+  @Test
+  void getItem() {
+    assertQueries(1, () -> mockMvc.perform(get("/api/items/" + items.get(5).getItemId())).andExpect(status().isOk()));
+  }
+
+  // --- CustomerController
+
+  @Test
+  void customerList_doesNotTouchBills() {
+    assertQueries(1, () -> mockMvc.perform(get("/api/customers"))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(CUSTOMERS)));
+  }
+
+  @Test
+  void customerByAccount_isOneQueryThenServedFromCache() {
+    assertQueries(1, () -> mockMvc.perform(get("/api/customers/by-account/ACC-7")).andExpect(status().isOk()));
+    assertQueries(0, () -> mockMvc.perform(get("/api/customers/by-account/ACC-7")).andExpect(status().isOk()));
+  }
+
+  @Test
+  void customerBalance_isOneRowRead() {
+    assertQueries(1, () -> mockMvc.perform(get("/api/customers/" + customers.get(9).getCustomerId() + "/balance"))
+        .andExpect(status().isOk()));
+  }
+}
@@ -5,6 +5,7 @@ import com.pahana.edu.billing.service.interfaces.ItemService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -18,7 +19,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(ItemController.class)
+@WebMvcTest(value = ItemController.class, excludeAutoConfiguration = SecurityAutoConfiguration.class)
 class ItemControllerTest {
 
     @Autowired
@@ -40,9 +41,9 @@ class ItemControllerTest {
         mockMvc.perform(post("/api/items")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.id").value(1L))
-                .andExpect(jsonPath("$.name").value("Test Item"));
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.itemName").value("Test Item"));
 
         verify(itemService).create(any(ItemCreateRequest.class));
     }
@@ -55,7 +56,7 @@ class ItemControllerTest {
 
         mockMvc.perform(get("/api/items/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L));
+                .andExpect(jsonPath("$.itemId").value(1L));
 
         verify(itemService).get(1L);
     }
@@ -68,14 +69,38 @@ class ItemControllerTest {
         );
         
         when(itemService.list()).thenReturn(items);
+        when(itemService.listETag()).thenReturn("\"items-x-1\"");
 
         mockMvc.perform(get("/api/items"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"items-x-1\""))
                 .andExpect(jsonPath("$.length()").value(2));
 
         verify(itemService).list();
     }
 
+    @Test
+    void list_WithCurrentETag_ShouldReturnNotModifiedWithoutListing() throws Exception {
+        when(itemService.listETag()).thenReturn("\"items-x-1\"");
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", "\"items-x-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).list();
+    }
+
+    @Test
+    void list_WithStaleETag_ShouldReturnFreshList() throws Exception {
+        when(itemService.listETag()).thenReturn("\"items-x-2\"");
+        when(itemService.list()).thenReturn(List.of(new ItemResponse(1L, "Item1", "Desc1", 10.0, 99)));
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", "\"items-x-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"items-x-2\""))
+                .andExpect(jsonPath("$[0].stockQuantity").value(99));
+    }
+
     @Test
     void update_ShouldReturnUpdatedItem() throws Exception {
         ItemUpdateRequest request = new ItemUpdateRequest("Updated Item", "Updated Description", 15.0, 150);
@@ -87,7 +112,7 @@ class ItemControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value("Updated Item"));
+                .andExpect(jsonPath("$.itemName").value("Updated Item"));
 
         verify(itemService).update(eq(1L), any(ItemUpdateRequest.class));
     }
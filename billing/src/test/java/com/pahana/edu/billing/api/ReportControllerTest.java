@@ -0,0 +1,49 @@
+package com.pahana.edu.billing.api;
+
+import com.pahana.edu.billing.domain.dto.report.TopItem;
+import com.pahana.edu.billing.domain.dto.report.TopItemsResponse;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.service.interfaces.ReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ReportController.class, excludeAutoConfiguration = SecurityAutoConfiguration.class)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReportService reportService;
+
+    @Test
+    void topItems_DefaultsToTodaysTopTwenty() throws Exception {
+        var day = LocalDate.of(2025, 3, 10);
+        when(reportService.topItems(1, 20))
+                .thenReturn(new TopItemsResponse(day, day, List.of(new TopItem(1001L, "Pen", 12, 0))));
+
+        mockMvc.perform(get("/api/reports/top-items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].itemId").value(1001))
+                .andExpect(jsonPath("$.items[0].quantitySold").value(12));
+    }
+
+    @Test
+    void topItems_WindowTooLong_ShouldReturnBadRequest() throws Exception {
+        when(reportService.topItems(30, 20)).thenThrow(new BadRequestException("days must be between 1 and 7"));
+
+        mockMvc.perform(get("/api/reports/top-items").param("days", "30"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,77 @@
+package com.pahana.edu.billing.config;
+
+import com.pahana.edu.billing.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+  private static final String SECRET = "bXktdmVyeS1zZWNyZXQtand0LWtleS1jaGFuZ2UtdGhpcy1pbi1wcm9kdWN0aW9u";
+
+  private final JwtService jwt = new JwtService(SECRET, 60_000, 100);
+  private final UserRepository userRepo = mock(UserRepository.class);
+  private final TokenRevocations revocations = new TokenRevocations(userRepo);
+  private final JwtAuthFilter filter = new JwtAuthFilter(jwt, revocations);
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void validToken_authenticatesFromClaimsWithoutTouchingTheDatabase() throws Exception {
+    var auth = filterWith("Bearer " + jwt.generateToken("cashier", "CASHIER"));
+
+    assertNotNull(auth);
+    assertEquals("cashier", auth.getName());
+    assertEquals(List.of("ROLE_CASHIER"), auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    verifyNoInteractions(userRepo);
+  }
+
+  @Test
+  void missingOrMalformedHeader_leavesRequestAnonymous() throws Exception {
+    assertNull(filterWith(null));
+    assertNull(filterWith("Basic abc"));
+    assertNull(filterWith("Bearer not-a-jwt"));
+  }
+
+  @Test
+  void tokenIssuedBeforeRevocation_isRejected() throws Exception {
+    var stale = jwt.generateToken("cashier", "CASHIER", 0);
+    when(userRepo.incrementTokenVersion("cashier")).thenReturn(1);
+    when(userRepo.findRevokedTokenVersions()).thenReturn(List.of(version("cashier", 1)));
+
+    revocations.revokeAll("cashier");
+
+    assertNull(filterWith("Bearer " + stale));
+    assertNotNull(filterWith("Bearer " + jwt.generateToken("cashier", "CASHIER", 1)));
+    assertNotNull(filterWith("Bearer " + jwt.generateToken("manager", "ADMIN", 0)));
+  }
+
+  private Authentication filterWith(String header) throws Exception {
+    SecurityContextHolder.clearContext();
+    var req = new MockHttpServletRequest("GET", "/api/bills");
+    if(header != null) req.addHeader("Authorization", header);
+    var chain = new MockFilterChain();
+    filter.doFilter(req, new MockHttpServletResponse(), chain);
+    assertNotNull(chain.getRequest(), "request must continue down the chain");
+    return SecurityContextHolder.getContext().getAuthentication();
+  }
+
+  private static UserRepository.TokenVersion version(String username, int version) {
+    return new UserRepository.TokenVersion() {
+      @Override public String getUsername() { return username; }
+      @Override public Integer getTokenVersion() { return version; }
+    };
+  }
+}
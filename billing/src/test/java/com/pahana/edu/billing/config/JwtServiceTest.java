@@ -0,0 +1,61 @@
+package com.pahana.edu.billing.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+  private static final String SECRET = "bXktdmVyeS1zZWNyZXQtand0LWtleS1jaGFuZ2UtdGhpcy1pbi1wcm9kdWN0aW9u";
+
+  private final JwtService jwt = new JwtService(SECRET, 60_000, 100);
+
+  @Test
+  void generatedToken_roundTripsSubjectAndRole() {
+    var token = jwt.generateToken("cashier", "CASHIER");
+
+    assertEquals("cashier", jwt.extractUsername(token));
+    assertEquals("CASHIER", jwt.extractRole(token));
+  }
+
+  @Test
+  void repeatedToken_isServedFromTheVerifiedCache() {
+    var token = jwt.generateToken("cashier", "CASHIER");
+
+    assertSame(jwt.verify(token), jwt.verify(token));
+  }
+
+  @Test
+  void withoutCache_verifiesEveryTime() {
+    var uncached = new JwtService(SECRET, 60_000, 0);
+    var token = uncached.generateToken("cashier", "CASHIER");
+
+    assertNotSame(uncached.verify(token), uncached.verify(token));
+    assertEquals("cashier", uncached.extractUsername(token));
+  }
+
+  @Test
+  void tamperedToken_isRejectedEvenAfterTheOriginalWasCached() {
+    var token = jwt.generateToken("cashier", "CASHIER");
+    jwt.verify(token);
+    var parts = token.split("\\.");
+    var forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+    assertThrows(JwtException.class, () -> jwt.verify(forged));
+  }
+
+  @Test
+  void tokenSignedWithAnotherKey_isRejected() {
+    var other = new JwtService("b3RoZXItc2VjcmV0LW90aGVyLXNlY3JldC1vdGhlci1zZWNyZXQtb3RoZXI=", 60_000, 100);
+
+    assertThrows(JwtException.class, () -> jwt.verify(other.generateToken("cashier", "ADMIN")));
+  }
+
+  @Test
+  void expiredToken_isRejected() {
+    var shortLived = new JwtService(SECRET, -1_000, 100);
+
+    assertThrows(ExpiredJwtException.class, () -> shortLived.verify(shortLived.generateToken("cashier", "CASHIER")));
+  }
+}
@@ -0,0 +1,81 @@
+package com.pahana.edu.billing.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementCountingDataSourceTest {
+
+  private DataSource counting() throws Exception {
+    var target = mock(DataSource.class);
+    when(target.getConnection()).thenAnswer(inv -> mock(Connection.class));
+    return new StatementCountingDataSource(target);
+  }
+
+  @Test
+  void countsStatementsInEveryOpenScope() throws Exception {
+    var ds = counting();
+    try (var outer = StatementCounter.open()) {
+      var connection = ds.getConnection();
+      connection.prepareStatement("SELECT 1");
+      try (var inner = StatementCounter.open()) {
+        connection.createStatement();
+        connection.prepareStatement("SELECT 2");
+        connection.getAutoCommit(); // not a statement
+        assertEquals(2, inner.statements());
+      }
+      assertEquals(3, outer.statements());
+    }
+  }
+
+  @Test
+  void statementsOutsideAnyScope_areIgnored() throws Exception {
+    counting().getConnection().prepareStatement("SELECT 1");
+    try (var scope = StatementCounter.open()) {
+      assertEquals(0, scope.statements());
+    }
+  }
+
+  @Test
+  void proxiedConnection_exposesItsTarget() throws Exception {
+    var connection = counting().getConnection();
+    assertInstanceOf(ConnectionProxy.class, connection);
+    assertNotSame(connection, ((ConnectionProxy) connection).getTargetConnection());
+    assertEquals(connection, connection);
+  }
+
+  @Test
+  void filter_recordsStatementsPerRoutePattern() throws Exception {
+    var registry = new SimpleMeterRegistry();
+    var ds = counting();
+    var request = new MockHttpServletRequest("GET", "/api/bills/42");
+    var chain = new MockFilterChain() {
+      @Override public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+        try {
+          var connection = ds.getConnection();
+          connection.prepareStatement("SELECT 1");
+          connection.prepareStatement("SELECT 2");
+        } catch (Exception ex) {
+          throw new IllegalStateException(ex);
+        }
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/bills/{id}");
+      }
+    };
+
+    new RequestSqlMetricsFilter(registry).doFilter(request, new MockHttpServletResponse(), chain);
+
+    var summary = registry.get("http.server.requests.sql.statements").tag("uri", "/api/bills/{id}").tag("method", "GET").summary();
+    assertEquals(1, summary.count());
+    assertEquals(2.0, summary.totalAmount());
+  }
+}
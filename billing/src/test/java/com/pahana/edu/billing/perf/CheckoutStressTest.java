@@ -0,0 +1,168 @@
+package com.pahana.edu.billing.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pahana.edu.billing.domain.dto.auth.AuthResponse;
+import com.pahana.edu.billing.domain.dto.auth.LoginRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.ItemRepository;
+import com.pahana.edu.billing.service.support.StockLedger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires {@code stress.requests} concurrent {@code POST /api/bills} from {@code stress.threads} clients at a handful
+ * of hot items whose stock covers only part of the demand, then checks that nothing was oversold: for every item,
+ * stock taken from the row must equal the quantities on committed bill lines and on the bills the clients were
+ * told succeeded. Runs on the {@code perf} profile (embedded H2 in MySQL mode) over loopback HTTP only.
+ *
+ * <p>Runs on Tomcat's platform thread pool; {@link VirtualThreadCheckoutStressTest} repeats it in virtual-thread
+ * mode so the two report lines can be compared. Excluded from the normal build; run with {@code ./mvnw -Pstress test}.
+ */
+@Tag("stress")
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CheckoutStressTest {
+  private static final Logger log = LoggerFactory.getLogger(CheckoutStressTest.class);
+
+  private static final int REQUESTS = Integer.getInteger("stress.requests", 5000);
+  private static final int THREADS = Integer.getInteger("stress.threads", 64);
+  private static final int HOT_ITEMS = Integer.getInteger("stress.items", 3);
+  private static final int STOCK = Integer.getInteger("stress.stock", 2000);
+
+  @LocalServerPort private int port;
+  @Autowired private CustomerRepository customerRepo;
+  @Autowired private ItemRepository itemRepo;
+  @Autowired private StockLedger stockLedger;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private ObjectMapper mapper;
+  @Value("${spring.threads.virtual.enabled:false}") private boolean virtualThreads;
+
+  private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+  @Test
+  void concurrentCheckouts_neverOversell() throws Exception {
+    var customerId = customerRepo.save(Customer.builder().accountNumber("STRESS-1").customerName("Stress School").build())
+        .getCustomerId();
+    var itemIds = new ArrayList<Long>();
+    for (int i = 0; i < HOT_ITEMS; i++) {
+      itemIds.add(itemRepo.save(Item.builder().itemName("Hot item " + i).category("Stationery").price(100.0)
+          .stockQuantity(STOCK).build()).getItemId());
+    }
+    var token = login();
+
+    var latencies = new long[REQUESTS];
+    var statuses = new ConcurrentHashMap<Integer, LongAdder>();
+    var soldPerItem = new ConcurrentHashMap<Long, LongAdder>();
+    var next = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    var pool = Executors.newFixedThreadPool(THREADS);
+    var workers = new ArrayList<Future<?>>();
+    for (int t = 0; t < THREADS; t++) {
+      workers.add(pool.submit(() -> {
+        start.await();
+        for (int n = next.getAndIncrement(); n < REQUESTS; n = next.getAndIncrement()) {
+          var body = mapper.writeValueAsString(randomBill(customerId, itemIds));
+          var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bills"))
+              .header("Content-Type", "application/json").header("Authorization", "Bearer " + token)
+              .timeout(Duration.ofSeconds(60)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+          long t0 = System.nanoTime();
+          var response = http.send(request, HttpResponse.BodyHandlers.ofString());
+          latencies[n] = System.nanoTime() - t0;
+          statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+          if (response.statusCode() == 200) {
+            for (var line : mapper.readValue(response.body(), BillResponse.class).items()) {
+              soldPerItem.computeIfAbsent(line.itemId(), id -> new LongAdder()).add(line.quantity());
+            }
+          }
+        }
+        return null;
+      }));
+    }
+
+    long began = System.nanoTime();
+    start.countDown();
+    for (var worker : workers) worker.get(30, TimeUnit.MINUTES);
+    double seconds = (System.nanoTime() - began) / 1e9;
+    pool.shutdown();
+    // with the in-memory ledger on, rows only catch up at the next flush
+    stockLedger.flush();
+
+    Arrays.sort(latencies);
+    var counts = new TreeMap<Integer, Long>();
+    statuses.forEach((status, n) -> counts.put(status, n.sum()));
+    log.info(String.format(
+        "checkout stress (%s threads): %d requests, %d clients, %d items x %d stock in %.1fs -> %.0f req/s; "
+            + "latency p50 %.1fms p99 %.1fms max %.1fms; statuses %s (400 = sold out, 503 = deadlock, lock or pool timeout)",
+        virtualThreads ? "virtual" : "platform", REQUESTS, THREADS, HOT_ITEMS, STOCK, seconds, REQUESTS / seconds,
+        percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[REQUESTS - 1] / 1e6, counts));
+
+    var violations = new ArrayList<String>();
+    for (var itemId : itemIds) {
+      int finalStock = itemRepo.findById(itemId).orElseThrow().getStockQuantity();
+      Long onBills = jdbc.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM bill_items WHERE item_id = ?",
+          Long.class, itemId);
+      long acknowledged = soldPerItem.getOrDefault(itemId, new LongAdder()).sum();
+      log.info("item {}: stock {} -> {}, on bills {}, acknowledged {}", itemId, STOCK, finalStock, onBills, acknowledged);
+      if (finalStock < 0) violations.add("item " + itemId + " stock went negative: " + finalStock);
+      if (STOCK - finalStock != onBills) violations.add("item " + itemId + " stock taken " + (STOCK - finalStock)
+          + " but bill lines sold " + onBills);
+      if (onBills != acknowledged) violations.add("item " + itemId + " bill lines sold " + onBills
+          + " but clients were acknowledged " + acknowledged);
+    }
+    long bills = jdbc.queryForObject("SELECT COUNT(*) FROM bills WHERE customer_id = ?", Long.class, customerId);
+    long succeeded = counts.getOrDefault(200, 0L);
+    if (bills != succeeded) violations.add(bills + " bills stored but " + succeeded + " acknowledged");
+
+    assertTrue(violations.isEmpty(), () -> "invariant violations: " + violations);
+    assertEquals(0L, counts.getOrDefault(500, 0L), "unexpected server errors");
+  }
+
+  // one or two lines over the hot items, 1-3 units each; total demand is several times the stock
+  private static BillCreateRequest randomBill(Long customerId, List<Long> itemIds) {
+    var random = ThreadLocalRandom.current();
+    var lines = new ArrayList<BillItemRequest>();
+    for (int l = 0, n = 1 + random.nextInt(2); l < n; l++) {
+      lines.add(new BillItemRequest(itemIds.get(random.nextInt(itemIds.size())), 1 + random.nextInt(3), null));
+    }
+    return new BillCreateRequest(customerId, null, null, lines);
+  }
+
+  private String login() throws Exception {
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(new LoginRequest("admin", "admin123"))))
+        .build();
+    var response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode(), "login failed: " + response.body());
+    return mapper.readValue(response.body(), AuthResponse.class).token();
+  }
+
+  private static double percentile(long[] sortedNanos, double p) {
+    return sortedNanos[Math.min(sortedNanos.length - 1, (int) Math.ceil(p * sortedNanos.length) - 1)] / 1e6;
+  }
+}
@@ -0,0 +1,15 @@
+package com.pahana.edu.billing.perf;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link CheckoutStressTest} with requests served on virtual threads, against its own H2 database. Compare its
+ * throughput and p99 line with the platform-thread run; the difference shows once {@code stress.threads} exceeds
+ * Tomcat's 200 platform threads, e.g. {@code ./mvnw -Pstress test -Dstress.threads=400}.
+ */
+@TestPropertySource(properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:perf-virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+class VirtualThreadCheckoutStressTest extends CheckoutStressTest {
+}
@@ -0,0 +1,137 @@
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.dto.bill.BillSearchCriteria;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.BillItem;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BillRepositoryTest {
+
+  @Autowired private BillRepository billRepo;
+  @Autowired private TestEntityManager em;
+
+  private Statistics stats;
+  private final List<Long> customerIds = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    var items = new ArrayList<Item>();
+    for (int i = 0; i < 5; i++) {
+      items.add(em.persist(Item.builder().itemName("Item " + i).category("Stationery")
+          .price(10.0 + i).stockQuantity(100).build()));
+    }
+    for (int c = 0; c < 3; c++) {
+      var customer = em.persist(Customer.builder().accountNumber("ACC-" + c).customerName("Customer " + c).build());
+      customerIds.add(customer.getCustomerId());
+      for (int b = 0; b < 10; b++) {
+        var bill = Bill.builder().billNumber("B-" + c + "-" + b).customer(customer).billDate(LocalDate.now())
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(30.0).build();
+        for (int l = 0; l < 3; l++) {
+          bill.getItems().add(BillItem.builder().bill(bill).item(items.get((b + l) % items.size()))
+              .quantity(1).unitPrice(10.0).subtotal(10.0).build());
+        }
+        em.persist(bill);
+      }
+    }
+    em.flush();
+    em.clear();
+
+    stats = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+  }
+
+  @Test
+  void findAllWithDetails_shouldResolveWholeGraphInOneQuery() {
+    List<Bill> bills = billRepo.findAllWithDetails();
+    touchGraph(bills);
+
+    assertEquals(30, bills.size());
+    assertEquals(1, stats.getPrepareStatementCount());
+  }
+
+  @Test
+  void findByCustomer_shouldResolveWholeGraphInOneQuery() {
+    List<Bill> bills = billRepo.findByCustomer_CustomerId(customerIds.get(0));
+    touchGraph(bills);
+
+    assertEquals(10, bills.size());
+    assertEquals(1, stats.getPrepareStatementCount());
+  }
+
+  @Test
+  void search_shouldFilterPageAndAggregate() {
+    var criteria = new BillSearchCriteria("B-1-", customerIds.get(1), null, null, null, null, PaymentStatus.PENDING);
+
+    var firstPage = billRepo.search(criteria, null, null, 4);
+    assertEquals(4, firstPage.size());
+    assertTrue(firstPage.stream().allMatch(b -> b.getBillNumber().startsWith("B-1-")));
+
+    var last = firstPage.get(3);
+    var rest = billRepo.search(criteria, last.getBillDate(), last.getBillId(), 100);
+    assertEquals(6, rest.size());
+    assertTrue(rest.stream().allMatch(b -> b.getBillId() < last.getBillId()));
+
+    var totals = billRepo.totals(criteria);
+    assertEquals(10, totals.billCount());
+    assertEquals(300.0, totals.totalAmount(), 1e-9);
+    assertEquals(300.0, totals.pendingAmount(), 1e-9);
+    assertEquals(0.0, totals.paidAmount(), 1e-9);
+  }
+
+  @Test
+  void totals_shouldSplitPaidAndPendingAmounts() {
+    var paid = billRepo.findByCustomer_CustomerId(customerIds.get(2)).subList(0, 3);
+    paid.forEach(b -> b.setPaymentStatus(PaymentStatus.PAID));
+    em.flush();
+
+    var all = billRepo.totals(new BillSearchCriteria(null, null, null, null, null, null, null));
+    assertEquals(30, all.billCount());
+    assertEquals(900.0, all.totalAmount(), 1e-9);
+    assertEquals(0.0, all.taxAmount(), 1e-9);
+    assertEquals(90.0, all.paidAmount(), 1e-9);
+    assertEquals(810.0, all.pendingAmount(), 1e-9);
+
+    var none = billRepo.totals(new BillSearchCriteria("NO-SUCH-", null, null, null, null, null, null));
+    assertEquals(0, none.billCount());
+    assertEquals(0.0, none.totalAmount(), 1e-9);
+    assertEquals(0.0, none.paidAmount(), 1e-9);
+  }
+
+  @Test
+  void search_shouldTreatLikeWildcardsLiterally() {
+    var criteria = new BillSearchCriteria("B-%", null, null, null, null, null, null);
+
+    assertTrue(billRepo.search(criteria, null, null, 10).isEmpty());
+    assertEquals(0, billRepo.totals(criteria).billCount());
+  }
+
+  // walks everything BillingServiceImpl.toDto reads
+  private static void touchGraph(List<Bill> bills) {
+    for (var b : bills) {
+      assertNotNull(b.getCustomer().getCustomerName());
+      assertEquals(3, b.getItems().size());
+      b.getItems().forEach(i -> assertNotNull(i.getItem().getItemName()));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.pahana.edu.billing.repository;
+
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectorJCursorFetchTest {
+
+  @Mock private EntityManager em;
+  @Mock private Session session;
+  @Mock private Connection connection;
+
+  private ConnectorJCursorFetch cursorFetch;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cursorFetch = new ConnectorJCursorFetch(em);
+    when(em.unwrap(Session.class)).thenReturn(session);
+    doAnswer(inv -> {
+      inv.<Work>getArgument(0).execute(connection);
+      return null;
+    }).when(session).doWork(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void open_switchesConnectorJToCursorFetchUntilClosed() throws Exception {
+    var mysql = mock(JdbcConnection.class);
+    var props = mock(JdbcPropertySet.class);
+    RuntimeProperty<Boolean> cursor = mock(RuntimeProperty.class);
+    RuntimeProperty<Boolean> serverPrepStmts = mock(RuntimeProperty.class);
+    when(connection.isWrapperFor(JdbcConnection.class)).thenReturn(true);
+    when(connection.unwrap(JdbcConnection.class)).thenReturn(mysql);
+    when(mysql.getPropertySet()).thenReturn(props);
+    when(props.getBooleanProperty("useCursorFetch")).thenReturn(cursor);
+    when(props.getBooleanProperty("useServerPrepStmts")).thenReturn(serverPrepStmts);
+
+    var scope = cursorFetch.open();
+    verify(cursor).setValue(true);
+    verify(serverPrepStmts).setValue(true);
+    verify(cursor, never()).setValue(false);
+
+    scope.close();
+    verify(cursor).setValue(false);
+    verify(serverPrepStmts).setValue(false);
+  }
+
+  @Test
+  void open_leavesOtherDriversAlone() throws Exception {
+    when(connection.isWrapperFor(JdbcConnection.class)).thenReturn(false);
+
+    cursorFetch.open().close();
+
+    verify(connection, never()).unwrap(any());
+  }
+}
@@ -0,0 +1,86 @@
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.sql.init.mode=never")
+class CustomerRepositoryTest {
+
+  @Autowired private CustomerRepository customerRepo;
+  @Autowired private TestEntityManager em;
+
+  private Customer customer(String account) {
+    return em.persistFlushFind(Customer.builder().accountNumber(account).customerName("Customer " + account).build());
+  }
+
+  private Customer reload(Long id) {
+    em.clear();
+    return customerRepo.findById(id).orElseThrow();
+  }
+
+  @Test
+  void newCustomer_startsWithZeroBalance() {
+    var c = reload(customer("ACC-0").getCustomerId());
+
+    assertEquals(0.0, c.getOutstandingBalance());
+    assertEquals(0.0, c.getLifetimeSpend());
+  }
+
+  @Test
+  void addBillTotalAndSettle_moveTheRunningTotals() {
+    var id = customer("ACC-1").getCustomerId();
+
+    assertEquals(1, customerRepo.addBillTotal(id, 100.0));
+    customerRepo.addBillTotal(id, 50.0);
+    customerRepo.settle(id, 100.0);
+
+    var c = reload(id);
+    assertEquals(50.0, c.getOutstandingBalance(), 1e-9);
+    assertEquals(150.0, c.getLifetimeSpend(), 1e-9);
+  }
+
+  @Test
+  void entityUpdate_doesNotOverwriteTheTotals() {
+    var id = customer("ACC-2").getCustomerId();
+    var stale = reload(id);
+    customerRepo.addBillTotal(id, 75.0);
+
+    stale.setCustomerName("Renamed");
+    customerRepo.saveAndFlush(stale);
+
+    var c = reload(id);
+    assertEquals("Renamed", c.getCustomerName());
+    assertEquals(75.0, c.getOutstandingBalance(), 1e-9);
+  }
+
+  @Test
+  void recomputeBalances_sumsBillsPerCustomer() {
+    var withBills = customer("ACC-3");
+    var without = customer("ACC-4");
+    for (var status : new PaymentStatus[]{PaymentStatus.PENDING, PaymentStatus.PENDING, PaymentStatus.PAID}) {
+      em.persist(Bill.builder().billNumber("B-" + status + "-" + System.nanoTime()).customer(withBills)
+          .billDate(LocalDate.now()).paymentStatus(status).taxAmount(0.0).totalAmount(20.0).build());
+    }
+    em.flush();
+    assertEquals(0, customerRepo.countWithSpend());
+
+    customerRepo.recomputeBalances();
+
+    var c = reload(withBills.getCustomerId());
+    assertEquals(40.0, c.getOutstandingBalance(), 1e-9);
+    assertEquals(60.0, c.getLifetimeSpend(), 1e-9);
+    assertEquals(0.0, reload(without.getCustomerId()).getLifetimeSpend());
+    assertEquals(1, customerRepo.countWithSpend());
+  }
+}
@@ -0,0 +1,32 @@
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.entity.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// data.sql uses MySQL's ON DUPLICATE KEY UPDATE, so run it against H2 in MySQL mode
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:items;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ItemRepositoryTest {
+
+  @Autowired private ItemRepository itemRepo;
+
+  @Test
+  void seedData_keepsGeneratedIdsAboveTheSeededItems() {
+    assertEquals(2, itemRepo.count());
+
+    var item = itemRepo.saveAndFlush(Item.builder().itemName("Eraser").category("Stationery").price(30.0).stockQuantity(10).build());
+
+    assertTrue(item.getItemId() > 2);
+  }
+}
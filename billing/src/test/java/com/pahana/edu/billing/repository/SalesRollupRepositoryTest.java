@@ -0,0 +1,118 @@
+package com.pahana.edu.billing.repository;
+
+import com.pahana.edu.billing.domain.dto.dashboard.StatusTotals;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.BillItem;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.repository.SalesRollupRepository.ItemDelta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the upserts use MySQL's ON DUPLICATE KEY UPDATE, so run against H2 in MySQL mode
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SalesRollupRepository.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rollups;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class SalesRollupRepositoryTest {
+
+  @Autowired private SalesRollupRepository rollups;
+  @Autowired private TestEntityManager em;
+  @Autowired private JdbcTemplate jdbc;
+
+  private final LocalDate day = LocalDate.of(2025, 1, 1);
+
+  private Map<PaymentStatus, StatusTotals> byStatus() {
+    return rollups.statusTotals().stream().collect(Collectors.toMap(StatusTotals::status, Function.identity()));
+  }
+
+  @Test
+  void addBill_accumulatesPerDayStatusAndItem() {
+    rollups.addBill(day, PaymentStatus.PENDING, 110.0, 10.0, Map.of(1L, new ItemDelta(2, 60.0), 2L, new ItemDelta(1, 40.0)));
+    rollups.addBill(day, PaymentStatus.PENDING, 55.0, 5.0, Map.of(1L, new ItemDelta(1, 50.0)));
+
+    var daily = rollups.daily(day, day);
+    assertEquals(1, daily.size());
+    assertEquals(2, daily.get(0).billCount());
+    assertEquals(165.0, daily.get(0).totalAmount(), 1e-9);
+    assertEquals(15.0, daily.get(0).taxAmount(), 1e-9);
+
+    assertEquals(2, byStatus().get(PaymentStatus.PENDING).billCount());
+
+    var top = rollups.topItems(5);
+    assertEquals(1L, top.get(0).itemId());
+    assertEquals(3, top.get(0).quantitySold());
+    assertEquals(110.0, top.get(0).revenue(), 1e-9);
+  }
+
+  @Test
+  void addBill_spreadsHotRowsOverShardsAndSumsThemOnRead() {
+    for (int i = 0; i < 40; i++) rollups.addBill(day, PaymentStatus.PENDING, 10.0, 1.0, Map.of());
+
+    Integer dayRows = jdbc.queryForObject("SELECT COUNT(*) FROM sales_day_rollups", Integer.class);
+    assertTrue(dayRows > 1 && dayRows <= SalesRollupRepository.SHARDS);
+    var daily = rollups.daily(day, day);
+    assertEquals(1, daily.size());
+    assertEquals(40, daily.get(0).billCount());
+    assertEquals(400.0, daily.get(0).totalAmount(), 1e-9);
+    assertEquals(40, byStatus().get(PaymentStatus.PENDING).billCount());
+    assertEquals(400.0, byStatus().get(PaymentStatus.PENDING).totalAmount(), 1e-9);
+  }
+
+  @Test
+  void moveStatus_transfersCountAndAmount() {
+    rollups.addBill(day, PaymentStatus.PENDING, 100.0, 0.0, Map.of());
+    rollups.addBill(day, PaymentStatus.PENDING, 20.0, 0.0, Map.of());
+
+    rollups.moveStatus(PaymentStatus.PENDING, PaymentStatus.PAID, 100.0);
+
+    var totals = byStatus();
+    assertEquals(1, totals.get(PaymentStatus.PENDING).billCount());
+    assertEquals(20.0, totals.get(PaymentStatus.PENDING).totalAmount(), 1e-9);
+    assertEquals(1, totals.get(PaymentStatus.PAID).billCount());
+    assertEquals(100.0, totals.get(PaymentStatus.PAID).totalAmount(), 1e-9);
+  }
+
+  @Test
+  void rebuild_recomputesFromBills() {
+    var item = em.persist(Item.builder().itemName("Pen").category("Stationery").price(10.0).stockQuantity(10).build());
+    var customer = em.persist(Customer.builder().accountNumber("ACC-1").customerName("Alice").build());
+    for (var status : new PaymentStatus[]{PaymentStatus.PENDING, PaymentStatus.PAID}) {
+      var bill = Bill.builder().billNumber("B-" + status).customer(customer).billDate(day)
+          .paymentStatus(status).taxAmount(2.0).totalAmount(22.0).build();
+      bill.getItems().add(BillItem.builder().bill(bill).item(item).quantity(2).unitPrice(10.0).subtotal(20.0).build());
+      em.persist(bill);
+    }
+    em.flush();
+    rollups.addBill(day.minusDays(1), PaymentStatus.CANCELLED, 999.0, 0.0, Map.of()); // stale row to be replaced
+    assertFalse(rollups.isEmpty());
+
+    rollups.rebuild();
+
+    assertTrue(rollups.daily(day.minusDays(1), day.minusDays(1)).isEmpty());
+    assertEquals(2, rollups.daily(day, day).get(0).billCount());
+    var totals = byStatus();
+    assertEquals(1, totals.get(PaymentStatus.PAID).billCount());
+    assertNull(totals.get(PaymentStatus.CANCELLED));
+    assertEquals(4, rollups.topItems(1).get(0).quantitySold());
+  }
+}
@@ -1,23 +1,30 @@
 package com.pahana.edu.billing.service.impl;
 
 import com.pahana.edu.billing.config.JwtService;
+import com.pahana.edu.billing.config.TokenRevocations;
 import com.pahana.edu.billing.domain.dto.auth.AuthResponse;
 import com.pahana.edu.billing.domain.entity.User;
 import com.pahana.edu.billing.domain.enums.UserType;
 import com.pahana.edu.billing.repository.UserRepository;
+import com.pahana.edu.billing.service.support.PasswordVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -33,7 +40,11 @@ class AuthServiceImplTest {
     @Mock
     private JwtService jwtService;
 
-    @InjectMocks
+    @Mock
+    private TokenRevocations revocations;
+
+    private PasswordVerifier passwords;
+    private ExecutorService taskExecutor;
     private AuthServiceImpl authService;
 
     private User testUser;
@@ -44,10 +55,22 @@ class AuthServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // a real one-thread pool around the mocked encoder, as in production
+        passwords = new PasswordVerifier(encoder, new SimpleMeterRegistry(), 1, 8);
+        taskExecutor = Executors.newSingleThreadExecutor();
+        authService = new AuthServiceImpl(userRepo, passwords, jwtService, revocations, taskExecutor);
+
         testUser = new User();
         testUser.setUsername(username);
         testUser.setPassword(encodedPassword);
         testUser.setUserType(UserType.ADMIN);
+        testUser.setTokenVersion(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwords.destroy();
+        taskExecutor.shutdown();
     }
 
     @Test
@@ -55,7 +78,7 @@ class AuthServiceImplTest {
         // Arrange
         when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
         when(encoder.matches(rawPassword, encodedPassword)).thenReturn(true);
-        when(jwtService.generateToken(username, UserType.ADMIN.name())).thenReturn(jwtToken);
+        when(jwtService.generateToken(username, UserType.ADMIN.name(), 0)).thenReturn(jwtToken);
 
         // Act
         AuthResponse result = authService.login(username, rawPassword);
@@ -65,7 +88,7 @@ class AuthServiceImplTest {
         assertEquals(jwtToken, result.token());
         verify(userRepo).findByUsername(username);
         verify(encoder).matches(rawPassword, encodedPassword);
-        verify(jwtService).generateToken(username, UserType.ADMIN.name());
+        verify(jwtService).generateToken(username, UserType.ADMIN.name(), 0);
     }
 
     @Test
@@ -81,7 +104,7 @@ class AuthServiceImplTest {
         assertEquals("Invalid credentials", exception.getMessage());
         verify(userRepo).findByUsername(username);
         verify(encoder, never()).matches(anyString(), anyString());
-        verify(jwtService, never()).generateToken(anyString(), anyString());
+        verify(jwtService, never()).generateToken(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -98,7 +121,7 @@ class AuthServiceImplTest {
         assertEquals("Invalid credentials", exception.getMessage());
         verify(userRepo).findByUsername(username);
         verify(encoder).matches(rawPassword, encodedPassword);
-        verify(jwtService, never()).generateToken(anyString(), anyString());
+        verify(jwtService, never()).generateToken(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -126,4 +149,69 @@ class AuthServiceImplTest {
         );
         verify(userRepo).findByUsername("");
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_TokenCarriesUsersTokenVersion() {
+        testUser.setTokenVersion(3);
+        when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(encoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+        when(jwtService.generateToken(username, UserType.ADMIN.name(), 3)).thenReturn(jwtToken);
+
+        assertEquals(jwtToken, authService.login(username, rawPassword).token());
+    }
+
+    @Test
+    void logoutEverywhere_RevokesUsersTokens() {
+        authService.logoutEverywhere(username);
+
+        verify(revocations).revokeAll(username);
+    }
+
+    @Test
+    void login_HashBelowConfiguredCost_IsReEncoded() {
+        testUser.setUserId(7L);
+        when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(encoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+        when(encoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(encoder.encode(rawPassword)).thenReturn("reEncodedPassword");
+        when(jwtService.generateToken(username, UserType.ADMIN.name(), 0)).thenReturn(jwtToken);
+
+        assertEquals(jwtToken, authService.login(username, rawPassword).token());
+        verify(userRepo).updatePassword(7L, "reEncodedPassword");
+    }
+
+    @Test
+    void login_ReEncodedHash_IsWrittenOffTheLoginPool() {
+        testUser.setUserId(7L);
+        when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(encoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+        when(encoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(encoder.encode(rawPassword)).thenReturn("reEncodedPassword");
+        var writer = new AtomicReference<String>();
+        doAnswer(inv -> { writer.set(Thread.currentThread().getName()); return 1; })
+            .when(userRepo).updatePassword(7L, "reEncodedPassword");
+
+        authService.login(username, rawPassword);
+
+        assertFalse(writer.get().startsWith("login-"), writer.get());
+    }
+
+    @Test
+    void login_InvalidPassword_DoesNotReEncode() {
+        when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(encoder.matches(rawPassword, encodedPassword)).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> authService.login(username, rawPassword));
+        verify(encoder, never()).upgradeEncoding(anyString());
+        verify(userRepo, never()).updatePassword(any(), anyString());
+    }
+
+    @Test
+    void loginAsync_CompletesWithAuthResponse() {
+        when(userRepo.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(encoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+        when(jwtService.generateToken(username, UserType.ADMIN.name(), 0)).thenReturn(jwtToken);
+
+        assertEquals(jwtToken, authService.loginAsync(username, rawPassword).join().token());
+    }
+}
@@ -0,0 +1,162 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.entity.Item;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.ItemRepository;
+import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.support.BillNumberAllocator;
+import com.pahana.edu.billing.service.support.StockLedger;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillBatchServiceImplTest {
+
+  @Mock private BillRepository billRepo;
+  @Mock private CustomerRepository customerRepo;
+  @Mock private ItemRepository itemRepo;
+  @Mock private StockLedger stockLedger;
+  @Mock private BillNumberAllocator billNumbers;
+  @Mock private BillingService billing;
+  @Mock private PlatformTransactionManager txManager;
+  @Mock private ApplicationEventPublisher events;
+
+  private BillBatchServiceImpl service;
+  private final LocalDate day = LocalDate.of(2025, 1, 1);
+
+  @BeforeEach
+  void setUp() {
+    service = batchService(100);
+  }
+
+  private BillBatchServiceImpl batchService(int chunkSize) {
+    var validator = Validation.buildDefaultValidatorFactory().getValidator();
+    return new BillBatchServiceImpl(billRepo, customerRepo, itemRepo, stockLedger, billNumbers, billing,
+        validator, txManager, events, 10.0, chunkSize, 5);
+  }
+
+  private void stockUp(int stock) {
+    var customer = new Customer();
+    customer.setCustomerId(1L);
+    customer.setCustomerName("Alice");
+    lenient().when(customerRepo.findAllById(any())).thenReturn(List.of(customer));
+
+    var pen = new Item();
+    pen.setItemId(1001L);
+    pen.setItemName("Pen");
+    pen.setPrice(10.0);
+    pen.setStockQuantity(stock);
+    lenient().when(itemRepo.findAllById(any())).thenReturn(List.of(pen));
+    lenient().when(stockLedger.available(anyLong())).thenReturn(Optional.empty());
+  }
+
+  private BillCreateRequest bill(String number, int qty) {
+    return new BillCreateRequest(1L, number, day, List.of(new BillItemRequest(1001L, qty, null)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void createAll_aggregatesStockIntoOneDeltaAndSavesTheChunkAtOnce() {
+    stockUp(10);
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
+    when(billNumbers.next(day)).thenReturn("MAIN-20250101-000001");
+
+    var res = service.createAll(List.of(bill("T1-0001", 2), bill(null, 3)));
+
+    assertEquals(2, res.succeeded());
+    assertEquals(0, res.failed());
+    assertEquals("T1-0001", res.results().get(0).bill().billNumber());
+    assertEquals("MAIN-20250101-000001", res.results().get(1).bill().billNumber());
+    assertEquals(33.0, res.results().get(1).bill().totalAmount(), 1e-9); // 3 * 10 + 10% tax
+    verify(itemRepo).decrementStock(Map.of(1001L, 5));
+    var saved = ArgumentCaptor.forClass(Collection.class);
+    verify(billRepo).saveAll(saved.capture());
+    assertEquals(2, saved.getValue().size());
+    verify(billing, never()).create(any());
+    verify(events, times(2)).publishEvent(any(BillCreatedEvent.class));
+    verify(customerRepo).addBillTotal(eq(1L), doubleThat(total -> Math.abs(total - 55.0) < 1e-9)); // (2 + 3) * 10 + 10% tax
+  }
+
+  @Test
+  void createAll_reportsFailuresPerBillWithoutSinkingTheRest() {
+    stockUp(10);
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
+    when(billRepo.findExistingBillNumbers(any())).thenReturn(Set.of("T1-0003"));
+
+    var invalid = new BillCreateRequest(null, "T1-0001", day, List.of());
+    var res = service.createAll(List.of(invalid, bill("T1-0002", 8), bill("T1-0003", 1), bill("T1-0004", 5)));
+
+    assertEquals(1, res.succeeded());
+    assertEquals(3, res.failed());
+    assertTrue(res.results().get(0).error().startsWith("customerId"));
+    assertTrue(res.results().get(1).success());
+    assertEquals("Bill number already exists: T1-0003", res.results().get(2).error());
+    // only 2 of the 10 pens are left once bill 1 is accepted
+    assertEquals("Insufficient stock for Pen", res.results().get(3).error());
+    verify(itemRepo).decrementStock(Map.of(1001L, 8));
+  }
+
+  @Test
+  void createAll_replaysChunkBillByBillWhenStockMovedConcurrently() {
+    stockUp(10);
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of(1001L));
+    var ok = new BillResponse(1L, "T1-0001", 1L, "Alice", day, 0.2, 2.2, PaymentStatus.PENDING, List.of());
+    when(billing.create(any())).thenReturn(ok).thenThrow(new BadRequestException("Insufficient stock for Pen"));
+
+    var res = service.createAll(List.of(bill("T1-0001", 2), bill("T1-0002", 3)));
+
+    verify(billRepo, never()).saveAll(any());
+    verify(txManager).rollback(any());
+    verify(billing, times(2)).create(any());
+    assertTrue(res.results().get(0).success());
+    assertEquals("Insufficient stock for Pen", res.results().get(1).error());
+  }
+
+  @Test
+  void createAll_splitsIntoChunkTransactions() {
+    service = batchService(2);
+    stockUp(10);
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
+
+    var res = service.createAll(List.of(bill("A", 1), bill("B", 1), bill("C", 1)));
+
+    assertEquals(3, res.succeeded());
+    verify(itemRepo, times(2)).findAllById(any());
+    verify(billRepo, times(2)).flush();
+    verify(txManager, times(2)).commit(any());
+  }
+
+  @Test
+  void createAll_rejectsOversizedBatch() {
+    var bills = List.of(bill("1", 1), bill("2", 1), bill("3", 1), bill("4", 1), bill("5", 1), bill("6", 1));
+    assertThrows(BadRequestException.class, () -> service.createAll(bills));
+    assertThrows(BadRequestException.class, () -> service.createAll(List.of()));
+    verifyNoInteractions(billRepo, itemRepo);
+  }
+}
@@ -0,0 +1,109 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pahana.edu.billing.domain.entity.Bill;
+import com.pahana.edu.billing.domain.entity.Customer;
+import com.pahana.edu.billing.domain.enums.ExportFormat;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.repository.BillRepository;
+import com.pahana.edu.billing.repository.CursorFetch;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillExportServiceImplTest {
+
+  @Mock private BillRepository billRepo;
+  @Mock private CursorFetch cursorFetch;
+  @Mock private CursorFetch.Scope cursor;
+  @Mock private EntityManager em;
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private BillExportServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new BillExportServiceImpl(billRepo, cursorFetch, em, mapper, 2);
+    when(cursorFetch.open()).thenReturn(cursor);
+  }
+
+  private static Bill bill(long id, String customerName) {
+    var customer = new Customer();
+    customer.setCustomerId(7L);
+    customer.setCustomerName(customerName);
+    return Bill.builder()
+        .billId(id).billNumber("B" + id).customer(customer)
+        .billDate(LocalDate.of(2025, 1, 1)).taxAmount(1.0).totalAmount(11.0)
+        .paymentStatus(PaymentStatus.PENDING).items(new ArrayList<>())
+        .build();
+  }
+
+  @Test
+  void export_ndjson_writesOneObjectPerLineAndClearsPerChunk() throws Exception {
+    when(billRepo.streamAllForExport()).thenReturn(LongStream.rangeClosed(1, 5).mapToObj(id -> bill(id, "Alice")));
+    var out = new ByteArrayOutputStream();
+
+    service.export(ExportFormat.NDJSON, out);
+
+    var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(5, lines.length);
+    assertEquals(1L, mapper.readTree(lines[0]).get("billId").asLong());
+    assertEquals("2025-01-01", mapper.readTree(lines[4]).get("billDate").asText());
+    // chunks of 2, 2 and the trailing 1
+    verify(em, times(3)).clear();
+  }
+
+  @Test
+  void export_csv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+    when(billRepo.streamAllForExport()).thenReturn(LongStream.of(1).mapToObj(id -> bill(id, "Smith, \"Bob\"")));
+    var out = new ByteArrayOutputStream();
+
+    service.export(ExportFormat.CSV, out);
+
+    var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("billId,billNumber,"));
+    assertEquals("1,B1,7,\"Smith, \"\"Bob\"\"\",2025-01-01,1.0,11.0,PENDING,0", lines[1]);
+  }
+
+  @Test
+  void export_noBills_writesNothing() throws Exception {
+    when(billRepo.streamAllForExport()).thenReturn(LongStream.empty().mapToObj(id -> bill(id, "x")));
+    var out = new ByteArrayOutputStream();
+
+    service.export(ExportFormat.NDJSON, out);
+
+    assertEquals(0, out.size());
+    verify(em, never()).clear();
+  }
+
+  @Test
+  void export_readsThroughCursorFetchAndEndsItAfterTheStream() throws Exception {
+    when(billRepo.streamAllForExport()).thenReturn(LongStream.of(1).mapToObj(id -> bill(id, "Alice")));
+
+    service.export(ExportFormat.CSV, new ByteArrayOutputStream());
+
+    var order = inOrder(cursorFetch, billRepo, cursor);
+    order.verify(cursorFetch).open();
+    order.verify(billRepo).streamAllForExport();
+    order.verify(cursor).close();
+  }
+}
@@ -3,27 +3,40 @@ package com.pahana.edu.billing.service.impl;
 import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
 import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
 import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillSearchCriteria;
+import com.pahana.edu.billing.domain.dto.bill.BillTotals;
 import com.pahana.edu.billing.domain.entity.Bill;
 import com.pahana.edu.billing.domain.entity.BillItem;
 import com.pahana.edu.billing.domain.entity.Customer;
 import com.pahana.edu.billing.domain.entity.Item;
 import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.domain.event.BillPaidEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.BillRepository;
 import com.pahana.edu.billing.repository.CustomerRepository;
 import com.pahana.edu.billing.repository.ItemRepository;
+import com.pahana.edu.billing.service.support.BillCursor;
+import com.pahana.edu.billing.service.support.BillNumberAllocator;
+import com.pahana.edu.billing.service.support.IdempotencyKeyStore;
+import com.pahana.edu.billing.service.support.StockLedger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,19 +47,24 @@ class BillingServiceImplTest {
   @Mock private BillRepository billRepo;
   @Mock private CustomerRepository customerRepo;
   @Mock private ItemRepository itemRepo;
+  @Mock private StockLedger stockLedger;
+  @Mock private BillNumberAllocator billNumbers;
+  @Mock private IdempotencyKeyStore idempotencyKeys;
+  @Mock private ApplicationEventPublisher events;
 
   private BillingServiceImpl service;
 
   @BeforeEach
   void setUp() {
-    service = new BillingServiceImpl(billRepo, customerRepo, itemRepo);
+    service = new BillingServiceImpl(billRepo, customerRepo, itemRepo, stockLedger, billNumbers, idempotencyKeys, events);
     ReflectionTestUtils.setField(service, "taxPercent", 10.0); // 10% tax for tests
+    ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+    ReflectionTestUtils.setField(service, "maxPageSize", 5);
   }
 
   @Test
   void create_shouldComputeTotalsAndReduceStock() {
     // Arrange
-    when(billRepo.existsByBillNumber("B001")).thenReturn(false);
 
     var customer = new Customer();
     customer.setCustomerId(1L);
@@ -65,10 +83,9 @@ class BillingServiceImplTest {
     item2.setPrice(30.0);
     item2.setStockQuantity(5);
 
-    when(itemRepo.findById(1001L)).thenReturn(Optional.of(item1));
-    when(itemRepo.findById(1002L)).thenReturn(Optional.of(item2));
+    when(itemRepo.findAllById(Set.of(1001L, 1002L))).thenReturn(List.of(item1, item2));
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
 
-    doAnswer(inv -> inv.getArgument(0)).when(itemRepo).save(any(Item.class));
     doAnswer(inv -> inv.getArgument(0)).when(billRepo).save(any(Bill.class));
 
     var itemsReq = List.of(
@@ -91,24 +108,31 @@ class BillingServiceImplTest {
     assertEquals(tax, res.taxAmount(), 1e-6);
     assertEquals(net + tax, res.totalAmount(), 1e-6);
 
-    // Stock reduced
-    assertEquals(8, item1.getStockQuantity());
-    assertEquals(4, item2.getStockQuantity());
-    verify(itemRepo, times(2)).save(any(Item.class));
+    // Stock reduced with one batched, guarded decrement
+    verify(itemRepo).decrementStock(Map.of(1001L, 2, 1002L, 1));
+    verify(itemRepo, never()).save(any(Item.class));
     verify(billRepo, times(1)).save(any(Bill.class));
+    verify(customerRepo).addBillTotal(1L, res.totalAmount());
+    verify(events).publishEvent(new BillCreatedEvent(res));
   }
 
   @Test
-  void create_shouldThrowForDuplicateBillNumber() {
-    when(billRepo.existsByBillNumber("B001")).thenReturn(true);
-    var req = new BillCreateRequest(1L, "B001", LocalDate.now(), List.of());
-    assertThrows(IllegalArgumentException.class, () -> service.create(req));
-    verifyNoInteractions(customerRepo, itemRepo);
+  void create_shouldAllocateBillNumberWhenNoneSupplied() {
+    var customer = new Customer();
+    customer.setCustomerId(1L);
+    customer.setCustomerName("Alice");
+    when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
+    when(itemRepo.findAllById(Set.of())).thenReturn(List.of());
+    when(billNumbers.next(LocalDate.of(2025, 1, 1))).thenReturn("MAIN-20250101-000001");
+    doAnswer(inv -> inv.getArgument(0)).when(billRepo).save(any(Bill.class));
+
+    var res = service.create(new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), List.of()));
+
+    assertEquals("MAIN-20250101-000001", res.billNumber());
   }
 
   @Test
   void create_shouldThrowWhenCustomerNotFound() {
-    when(billRepo.existsByBillNumber("B001")).thenReturn(false);
     when(customerRepo.findById(1L)).thenReturn(Optional.empty());
     var req = new BillCreateRequest(1L, "B001", LocalDate.now(), List.of());
     assertThrows(NotFoundException.class, () -> service.create(req));
@@ -116,14 +140,13 @@ class BillingServiceImplTest {
 
   @Test
   void create_shouldThrowWhenItemNotFound() {
-    when(billRepo.existsByBillNumber("B001")).thenReturn(false);
 
     var customer = new Customer();
     customer.setCustomerId(1L);
     customer.setCustomerName("Alice");
     when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
 
-    when(itemRepo.findById(1001L)).thenReturn(Optional.empty());
+    when(itemRepo.findAllById(Set.of(1001L))).thenReturn(List.of());
 
     var req = new BillCreateRequest(1L, "B001", LocalDate.now(),
         List.of(new BillItemRequest(1001L, 1, null)));
@@ -134,7 +157,6 @@ class BillingServiceImplTest {
 
   @Test
   void create_shouldThrowWhenInsufficientStock() {
-    when(billRepo.existsByBillNumber("B001")).thenReturn(false);
 
     var customer = new Customer();
     customer.setCustomerId(1L);
@@ -146,13 +168,66 @@ class BillingServiceImplTest {
     item.setPrice(50.0);
     item.setStockQuantity(1);
 
-    when(itemRepo.findById(1001L)).thenReturn(Optional.of(item));
+    when(itemRepo.findAllById(Set.of(1001L))).thenReturn(List.of(item));
 
     var req = new BillCreateRequest(1L, "B001", LocalDate.now(),
         List.of(new BillItemRequest(1001L, 2, null)));
 
-    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.create(req));
+    BadRequestException ex = assertThrows(BadRequestException.class, () -> service.create(req));
     assertTrue(ex.getMessage().contains("Insufficient stock"));
+    verify(itemRepo, never()).decrementStock(anyMap());
+  }
+
+  @Test
+  void create_shouldMergeDuplicateLinesBeforeDecrementing() {
+
+    var customer = new Customer();
+    customer.setCustomerId(1L);
+    customer.setCustomerName("Alice");
+    when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
+
+    var item = new Item();
+    item.setItemId(1001L);
+    item.setItemName("Pen");
+    item.setPrice(50.0);
+    item.setStockQuantity(3);
+    when(itemRepo.findAllById(Set.of(1001L))).thenReturn(List.of(item));
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
+    doAnswer(inv -> inv.getArgument(0)).when(billRepo).save(any(Bill.class));
+
+    var req = new BillCreateRequest(1L, "B001", LocalDate.now(), List.of(
+        new BillItemRequest(1001L, 1, null),
+        new BillItemRequest(1001L, 2, 45.0)));
+
+    var res = service.create(req);
+
+    assertEquals(2, res.items().size());
+    verify(itemRepo).findAllById(Set.of(1001L));
+    verify(itemRepo).decrementStock(Map.of(1001L, 3));
+  }
+
+  @Test
+  void create_shouldThrowWhenGuardedDecrementIsRejected() {
+
+    var customer = new Customer();
+    customer.setCustomerId(1L);
+    when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
+
+    var item = new Item();
+    item.setItemId(1001L);
+    item.setItemName("Pen");
+    item.setPrice(50.0);
+    item.setStockQuantity(5);
+    when(itemRepo.findAllById(Set.of(1001L))).thenReturn(List.of(item));
+    // another till sold the remaining stock between our read and the guarded UPDATE
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of(1001L));
+
+    var req = new BillCreateRequest(1L, "B001", LocalDate.now(),
+        List.of(new BillItemRequest(1001L, 2, null)));
+
+    BadRequestException ex = assertThrows(BadRequestException.class, () -> service.create(req));
+    assertTrue(ex.getMessage().contains("Insufficient stock for Pen"));
+    verify(billRepo, never()).save(any(Bill.class));
   }
 
   @Test
@@ -211,6 +286,77 @@ class BillingServiceImplTest {
     assertEquals("B002", list.get(1).billNumber());
   }
 
+  @Test
+  void page_shouldReturnCursorWhenMoreRowsExist() {
+    var customer = new Customer();
+    customer.setCustomerId(9L);
+    customer.setCustomerName("Carol");
+    var day = LocalDate.of(2025, 3, 1);
+    var rows = List.of(
+        Bill.builder().billId(30L).billNumber("B030").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(0.0).build(),
+        Bill.builder().billId(20L).billNumber("B020").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(0.0).build(),
+        Bill.builder().billId(10L).billNumber("B010").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(0.0).build());
+    when(billRepo.findPage(PageRequest.ofSize(3))).thenReturn(rows);
+
+    var page = service.page(null, null, null);
+
+    assertEquals(2, page.items().size());
+    assertEquals(new BillCursor(day, 20L), BillCursor.decode(page.nextCursor()));
+  }
+
+  @Test
+  void page_shouldContinueAfterCursorAndCapSize() {
+    var cursor = new BillCursor(LocalDate.of(2025, 3, 1), 20L);
+    when(billRepo.findCustomerPageAfter(9L, cursor.billDate(), 20L, PageRequest.ofSize(6))).thenReturn(List.of());
+
+    var page = service.page(9L, cursor.encode(), 1000);
+
+    assertTrue(page.items().isEmpty());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void page_shouldRejectMalformedCursor() {
+    assertThrows(BadRequestException.class, () -> service.page(null, "not-a-cursor", null));
+  }
+
+  @Test
+  void search_shouldComputeTotalsOnlyForFirstPage() {
+    var customer = new Customer();
+    customer.setCustomerId(9L);
+    customer.setCustomerName("Carol");
+    var day = LocalDate.of(2025, 3, 1);
+    var criteria = new BillSearchCriteria("B0", null, null, null, null, null, PaymentStatus.PENDING);
+    var rows = List.of(
+        Bill.builder().billId(30L).billNumber("B030").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(5.0).build(),
+        Bill.builder().billId(20L).billNumber("B020").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(5.0).build(),
+        Bill.builder().billId(10L).billNumber("B010").customer(customer).billDate(day)
+            .paymentStatus(PaymentStatus.PENDING).taxAmount(0.0).totalAmount(5.0).build());
+    var totals = new BillTotals(3, 15.0, 0.0, 0.0, 15.0);
+    when(billRepo.search(criteria, null, null, 3)).thenReturn(rows);
+    when(billRepo.totals(criteria)).thenReturn(totals);
+
+    var first = service.search(criteria, null, null);
+
+    assertEquals(2, first.items().size());
+    assertEquals(totals, first.totals());
+    assertNotNull(first.nextCursor());
+
+    when(billRepo.search(criteria, day, 20L, 3)).thenReturn(rows.subList(2, 3));
+
+    var second = service.search(criteria, first.nextCursor(), null);
+
+    assertEquals(1, second.items().size());
+    assertNull(second.totals());
+    assertNull(second.nextCursor());
+    verify(billRepo, times(1)).totals(criteria);
+  }
+
   @Test
   void markPaid_shouldUpdateStatus() {
     var customer = new Customer();
@@ -222,7 +368,7 @@ class BillingServiceImplTest {
         .customer(customer)
         .billDate(LocalDate.now())
         .paymentStatus(PaymentStatus.PENDING)
-        .taxAmount(0.0).totalAmount(0.0)
+        .taxAmount(0.0).totalAmount(25.0)
         .build();
 
     when(billRepo.findById(33L)).thenReturn(Optional.of(bill));
@@ -236,5 +382,34 @@ class BillingServiceImplTest {
     ArgumentCaptor<Bill> captor = ArgumentCaptor.forClass(Bill.class);
     verify(billRepo).save(captor.capture());
     assertEquals(PaymentStatus.PAID, captor.getValue().getPaymentStatus());
+    verify(customerRepo).settle(7L, 25.0);
+    verify(events).publishEvent(new BillPaidEvent(res, PaymentStatus.PENDING));
+  }
+
+  @Test
+  void markPaid_alreadyPaid_publishesNothing() {
+    var customer = new Customer();
+    customer.setCustomerId(7L);
+    var bill = Bill.builder().billId(34L).billNumber("B034").customer(customer).billDate(LocalDate.now())
+        .paymentStatus(PaymentStatus.PAID).taxAmount(0.0).totalAmount(10.0).build();
+    when(billRepo.findById(34L)).thenReturn(Optional.of(bill));
+
+    service.markPaid(34L);
+
+    verifyNoInteractions(events);
+    verify(customerRepo, never()).settle(anyLong(), anyDouble());
+  }
+
+  @Test
+  void markPaid_cancelledBill_leavesOutstandingBalanceAlone() {
+    var customer = new Customer();
+    customer.setCustomerId(7L);
+    var bill = Bill.builder().billId(35L).billNumber("B035").customer(customer).billDate(LocalDate.now())
+        .paymentStatus(PaymentStatus.CANCELLED).taxAmount(0.0).totalAmount(10.0).build();
+    when(billRepo.findById(35L)).thenReturn(Optional.of(bill));
+
+    service.markPaid(35L);
+
+    verify(customerRepo, never()).settle(anyLong(), anyDouble());
   }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import com.pahana.edu.billing.domain.dto.customer.CustomerResponse;
 import com.pahana.edu.billing.domain.entity.Customer;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.service.support.CustomerAccountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -13,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +29,9 @@ class CustomerServiceImplTest {
   @Mock
   CustomerRepository repo;
 
+  @Mock
+  CustomerAccountCache accounts;
+
   @InjectMocks
   CustomerServiceImpl service;
 
@@ -154,6 +160,43 @@ class CustomerServiceImplTest {
     assertEquals(req.telephoneNumber(), res.telephoneNumber());
     assertEquals(req.registrationDate(), res.registrationDate());
     assertEquals(req.status(), res.status());
+    verify(accounts).invalidate(List.of("OLD", "NEW-5005"));
+  }
+
+  @Test
+  void getByAccountNumber_isServedFromNearCacheAfterFirstLookup() {
+    var svc = new CustomerServiceImpl(repo, new CustomerAccountCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
+    var c = existingCustomer(3L, "ACC-3003", "Carol", "Addr", "0700000000", LocalDate.of(2024, 1, 1), null);
+    when(repo.findByAccountNumber("ACC-3003")).thenReturn(Optional.of(c));
+
+    assertEquals(3L, svc.getByAccountNumber("ACC-3003").customerId());
+    assertEquals("Carol", svc.getByAccountNumber("ACC-3003").customerName());
+    verify(repo, times(1)).findByAccountNumber("ACC-3003");
+  }
+
+  @Test
+  void getByAccountNumber_whenMissing_throwsAndIsNotCached() {
+    var svc = new CustomerServiceImpl(repo, new CustomerAccountCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
+    when(repo.findByAccountNumber("NOPE")).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> svc.getByAccountNumber("NOPE"));
+    assertThrows(NotFoundException.class, () -> svc.getByAccountNumber("NOPE"));
+    verify(repo, times(2)).findByAccountNumber("NOPE");
+  }
+
+  @Test
+  void listETag_changesOnEveryMutation() {
+    when(repo.save(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
+    var initial = service.listETag();
+    assertEquals(initial, service.listETag());
+
+    service.create(new CustomerCreateRequest("ACC-9", "Zed", "Addr", "0700000009", LocalDate.now(), null));
+    var afterCreate = service.listETag();
+    assertNotEquals(initial, afterCreate);
+
+    service.delete(9L);
+    assertNotEquals(afterCreate, service.listETag());
+    assertTrue(service.listETag().startsWith("\"customers-"));
   }
 
   @Test
@@ -171,6 +214,27 @@ class CustomerServiceImplTest {
     verify(repo).deleteById(77L);
   }
 
+  @Test
+  void getBalance_readsTheRunningTotalsOffTheCustomerRow() {
+    var c = existingCustomer(9L, "ACC-9", "Ann", null, null, null, null);
+    c.setOutstandingBalance(40.0);
+    c.setLifetimeSpend(310.0);
+    when(repo.findById(9L)).thenReturn(Optional.of(c));
+
+    var balance = service.getBalance(9L);
+
+    assertEquals(9L, balance.customerId());
+    assertEquals("ACC-9", balance.accountNumber());
+    assertEquals(40.0, balance.outstandingBalance(), 1e-9);
+    assertEquals(310.0, balance.lifetimeSpend(), 1e-9);
+  }
+
+  @Test
+  void getBalance_whenMissing_shouldThrowNotFound() {
+    when(repo.findById(9L)).thenReturn(Optional.empty());
+    assertThrows(NotFoundException.class, () -> service.getBalance(9L));
+  }
+
   // Helpers
   private static Customer existingCustomer(Long id, String acc, String name, String addr, String tel, LocalDate reg, Object status) {
     Customer c = new Customer();
@@ -0,0 +1,69 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.dashboard.DailySales;
+import com.pahana.edu.billing.domain.dto.dashboard.ItemSales;
+import com.pahana.edu.billing.domain.dto.dashboard.StatusTotals;
+import com.pahana.edu.billing.domain.dto.item.ItemResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.repository.CustomerRepository;
+import com.pahana.edu.billing.repository.SalesRollupRepository;
+import com.pahana.edu.billing.service.interfaces.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+  @Mock private SalesRollupRepository rollups;
+  @Mock private ItemService items;
+  @Mock private CustomerRepository customerRepo;
+
+  private DashboardServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new DashboardServiceImpl(rollups, items, customerRepo);
+    ReflectionTestUtils.setField(service, "topItems", 3);
+  }
+
+  @Test
+  void stats_areBuiltFromRollupsAndCatalogOnly() {
+    when(items.list()).thenReturn(List.of(
+        new ItemResponse(1L, "Pen", "STATIONERY", 1.0, 50),
+        new ItemResponse(2L, "Ink", "STATIONERY", 2.0, 4),
+        new ItemResponse(3L, "Book", "BOOKS", 9.0, 0)));
+    when(customerRepo.count()).thenReturn(12L);
+    when(rollups.statusTotals()).thenReturn(List.of(
+        new StatusTotals(PaymentStatus.PENDING, 3, 300.0),
+        new StatusTotals(PaymentStatus.PAID, 5, 500.0)));
+    var today = LocalDate.now();
+    when(rollups.daily(today.minusDays(6), today)).thenReturn(List.of(new DailySales(today, 2, 80.0, 8.0)));
+    when(rollups.topItems(3)).thenReturn(List.of(new ItemSales(1L, null, 40, 40.0), new ItemSales(99L, null, 1, 5.0)));
+
+    var stats = service.stats(5);
+
+    assertEquals(12, stats.totalCustomers());
+    assertEquals(3, stats.totalItems());
+    assertEquals(List.of("Book", "Ink"), stats.lowStockItems().stream().map(ItemResponse::itemName).toList());
+    assertEquals(8, stats.bills().totalBills());
+    assertEquals(0, stats.bills().cancelledBills());
+    assertEquals(800.0, stats.bills().totalAmount(), 1e-9);
+    assertEquals(500.0, stats.bills().paidAmount(), 1e-9);
+    assertEquals(300.0, stats.bills().pendingAmount(), 1e-9);
+    assertEquals(1, stats.lastSevenDays().size());
+    assertEquals("Pen", stats.topItems().get(0).itemName());
+    assertNull(stats.topItems().get(1).itemName()); // sold, since deleted
+    verify(rollups, never()).rebuild();
+    verify(rollups, never()).addBill(any(), any(), anyDouble(), anyDouble(), any());
+  }
+}
@@ -7,6 +7,9 @@ import com.pahana.edu.billing.domain.entity.Item;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.ItemRepository;
 import com.pahana.edu.billing.service.interfaces.ItemService;
+import com.pahana.edu.billing.service.support.ItemCatalogCache;
+import com.pahana.edu.billing.service.support.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,11 +30,14 @@ class ItemServiceImplTest {
   @Mock
   private ItemRepository repo;
 
+  @Mock
+  private StockLedger stockLedger;
+
   private ItemService service;
 
   @BeforeEach
   void setUp() {
-    service = new ItemServiceImpl(repo);
+    service = new ItemServiceImpl(repo, stockLedger, new ItemCatalogCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
   }
 
   @Test
@@ -86,11 +93,44 @@ class ItemServiceImplTest {
     var req = new ItemUpdateRequest("New", "NEWCAT", 2.50, 10);
     var res = service.update(10L, req);
 
-    verify(repo).save(existing);
     assertEquals("New", res.itemName());
     assertEquals("NEWCAT", res.category());
     assertEquals(2.50, res.price());
     assertEquals(10, res.stockQuantity());
+    // committed sales are written before the absolute value, a slot reseeded meanwhile is dropped after it
+    var order = inOrder(stockLedger, repo);
+    order.verify(stockLedger).forget(10L);
+    order.verify(repo).save(existing);
+    order.verify(stockLedger).forget(10L);
+  }
+
+  @Test
+  void list_isServedFromCacheUntilAnItemChanges() {
+    var pen = item("Pen", "STATIONERY", 1.10, 100);
+    pen.setItemId(10L);
+    when(repo.findAll()).thenReturn(List.of(pen));
+    when(repo.findById(10L)).thenReturn(Optional.of(pen));
+
+    service.list();
+    service.list();
+    assertEquals("Pen", service.get(10L).itemName()); // warmed by the list load
+    verify(repo, times(1)).findAll();
+    verify(repo, never()).findById(anyLong());
+
+    service.update(10L, new ItemUpdateRequest("Blue pen", null, null, null));
+    assertEquals("Blue pen", service.get(10L).itemName());
+    service.list();
+    verify(repo, times(2)).findAll();
+  }
+
+  @Test
+  void listETag_movesWithCatalogChanges() {
+    var before = service.listETag();
+    assertEquals(before, service.listETag());
+
+    service.delete(5L);
+
+    assertNotEquals(before, service.listETag());
   }
 
   @Test
@@ -0,0 +1,67 @@
+package com.pahana.edu.billing.service.impl;
+
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import com.pahana.edu.billing.exception.NotFoundException;
+import com.pahana.edu.billing.repository.ReceiptRepository;
+import com.pahana.edu.billing.service.interfaces.BillingService;
+import com.pahana.edu.billing.service.support.ReceiptPipeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptServiceImplTest {
+
+    @Mock
+    private ReceiptRepository receiptRepo;
+
+    @Mock
+    private ReceiptPipeline pipeline;
+
+    @Mock
+    private BillingService billing;
+
+    @InjectMocks
+    private ReceiptServiceImpl receiptService;
+
+    @Test
+    void get_StoredReceipt_IsServedWithoutRendering() {
+        var pdf = new byte[] {1, 2, 3};
+        when(receiptRepo.findPdfBody(1L)).thenReturn(Optional.of(pdf));
+
+        assertSame(pdf, receiptService.get(1L, ReceiptFormat.PDF));
+        verify(receiptRepo, never()).findTextBody(any());
+        verifyNoInteractions(pipeline, billing);
+    }
+
+    @Test
+    void get_NotYetRendered_RendersAndStoresNow() {
+        var bill = new BillResponse(1L, "B1", 1L, "Alice", LocalDate.now(), 0.0, 10.0, PaymentStatus.PENDING, List.of());
+        var rendered = new ReceiptPipeline.Rendered(new byte[] {'t'}, new byte[] {'p'});
+        when(receiptRepo.findTextBody(1L)).thenReturn(Optional.empty());
+        when(billing.get(1L)).thenReturn(bill);
+        when(pipeline.renderAndStore(bill)).thenReturn(rendered);
+
+        assertSame(rendered.text(), receiptService.get(1L, ReceiptFormat.TEXT));
+    }
+
+    @Test
+    void get_UnknownBill_ThrowsNotFound() {
+        when(receiptRepo.findTextBody(99L)).thenReturn(Optional.empty());
+        when(billing.get(99L)).thenThrow(new NotFoundException("Bill not found"));
+
+        assertThrows(NotFoundException.class, () -> receiptService.get(99L, ReceiptFormat.TEXT));
+        verifyNoInteractions(pipeline);
+    }
+}
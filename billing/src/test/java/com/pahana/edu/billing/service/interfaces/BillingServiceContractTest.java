@@ -5,8 +5,12 @@ import com.pahana.edu.billing.repository.BillRepository;
 import com.pahana.edu.billing.repository.CustomerRepository;
 import com.pahana.edu.billing.repository.ItemRepository;
 import com.pahana.edu.billing.service.impl.BillingServiceImpl;
+import com.pahana.edu.billing.service.support.BillNumberAllocator;
+import com.pahana.edu.billing.service.support.IdempotencyKeyStore;
+import com.pahana.edu.billing.service.support.StockLedger;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -23,7 +27,9 @@ class BillingServiceContractTest {
     CustomerRepository customerRepo = Mockito.mock(CustomerRepository.class);
     ItemRepository itemRepo = Mockito.mock(ItemRepository.class);
 
-    BillingService service = new BillingServiceImpl(billRepo, customerRepo, itemRepo);
+    BillingService service = new BillingServiceImpl(billRepo, customerRepo, itemRepo, Mockito.mock(StockLedger.class),
+        Mockito.mock(BillNumberAllocator.class), Mockito.mock(IdempotencyKeyStore.class),
+        Mockito.mock(ApplicationEventPublisher.class));
     // ... no further action; compilation and type assignability is the contract check.
   }
 }
\ No newline at end of file
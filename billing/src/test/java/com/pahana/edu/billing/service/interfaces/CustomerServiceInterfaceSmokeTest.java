@@ -4,6 +4,7 @@ package com.pahana.edu.billing.service.interfaces;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.CustomerRepository;
 import com.pahana.edu.billing.service.impl.CustomerServiceImpl;
+import com.pahana.edu.billing.service.support.CustomerAccountCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -24,7 +25,7 @@ class CustomerServiceInterfaceSmokeTest {
   @Test
   void list_viaInterface_shouldWork() {
     when(repo.findAll()).thenReturn(Collections.emptyList());
-    CustomerService svc = new CustomerServiceImpl(repo);
+    CustomerService svc = new CustomerServiceImpl(repo, mock(CustomerAccountCache.class));
 
     assertTrue(svc.list().isEmpty());
     verify(repo).findAll();
@@ -33,14 +34,14 @@ class CustomerServiceInterfaceSmokeTest {
   @Test
   void get_viaInterface_missing_shouldThrowNotFound() {
     when(repo.findById(1L)).thenReturn(Optional.empty());
-    CustomerService svc = new CustomerServiceImpl(repo);
+    CustomerService svc = new CustomerServiceImpl(repo, mock(CustomerAccountCache.class));
 
     assertThrows(NotFoundException.class, () -> svc.get(1L));
   }
 
   @Test
   void delete_viaInterface_shouldDelegate() {
-    CustomerService svc = new CustomerServiceImpl(repo);
+    CustomerService svc = new CustomerServiceImpl(repo, mock(CustomerAccountCache.class));
 
     svc.delete(9L);
     verify(repo).deleteById(9L);
@@ -3,6 +3,9 @@ package com.pahana.edu.billing.service.interfaces;
 import com.pahana.edu.billing.exception.NotFoundException;
 import com.pahana.edu.billing.repository.ItemRepository;
 import com.pahana.edu.billing.service.impl.ItemServiceImpl;
+import com.pahana.edu.billing.service.support.ItemCatalogCache;
+import com.pahana.edu.billing.service.support.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,6 +14,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,7 +23,8 @@ class ItemServiceTest {
   @Test
   void canInstantiateImplementationViaInterface_andThrowsOnMissingItem() {
     ItemRepository repo = mock(ItemRepository.class);
-    ItemService service = new ItemServiceImpl(repo);
+    ItemService service = new ItemServiceImpl(repo, mock(StockLedger.class),
+        new ItemCatalogCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
 
     when(repo.findById(123L)).thenReturn(Optional.empty());
 
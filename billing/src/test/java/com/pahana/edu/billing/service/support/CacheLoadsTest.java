@@ -0,0 +1,73 @@
+package com.pahana.edu.billing.service.support;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLoadsTest {
+  private final AsyncCache<Long, String> cache = Caffeine.newBuilder().maximumSize(100).buildAsync();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void concurrentMisses_shareOneLoad() throws Exception {
+    var loading = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+      var first = pool.submit(() -> CacheLoads.get(cache, 1L, id -> {
+        loads.incrementAndGet();
+        loading.countDown();
+        await(release);
+        return "Pen";
+      }));
+      loading.await();
+      var waiters = new ArrayList<Future<String>>();
+      for (int i = 0; i < 8; i++) {
+        waiters.add(pool.submit(() -> CacheLoads.get(cache, 1L, id -> "loaded again")));
+      }
+      release.countDown();
+
+      assertEquals("Pen", first.get(5, TimeUnit.SECONDS));
+      for (var w : waiters) assertEquals("Pen", w.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void nullAndFailedLoads_areNotCached() {
+    assertNull(CacheLoads.get(cache, 1L, id -> null));
+    assertThrows(IllegalStateException.class, () -> CacheLoads.get(cache, 2L, id -> {
+      throw new IllegalStateException("db down");
+    }));
+
+    assertEquals("Pen", CacheLoads.get(cache, 1L, id -> "Pen"));
+    assertEquals("Ink", CacheLoads.get(cache, 2L, id -> "Ink"));
+  }
+
+  @Test
+  void loadInvalidatedWhileRunning_isReturnedButNotPublished() {
+    var stale = CacheLoads.get(cache, 1L, id -> {
+      cache.synchronous().invalidate(id); // a write lands while the row is being read
+      return "stale";
+    });
+
+    assertEquals("stale", stale);
+    assertEquals("fresh", CacheLoads.get(cache, 1L, id -> "fresh"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillCreateRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillItemRequest;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.entity.IdempotencyKey;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyStoreTest {
+
+  @Mock private IdempotencyKeyRepository repo;
+
+  private IdempotencyKeyStore store;
+
+  private final BillCreateRequest request = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1),
+      List.of(new BillItemRequest(1001L, 2, null)));
+  private final BillResponse bill = new BillResponse(7L, "MAIN-20250101-000001", 1L, "Alice",
+      LocalDate.of(2025, 1, 1), 10.0, 110.0, PaymentStatus.PENDING, List.of());
+
+  @BeforeEach
+  void setUp() {
+    store = new IdempotencyKeyStore(repo, 100, Duration.ofMinutes(10), Duration.ofHours(24));
+  }
+
+  @Test
+  void record_thenFind_isAnsweredFromMemory() {
+    store.record("k1", request, bill);
+
+    var found = store.find("k1", request, id -> fail("must not load the bill"));
+
+    assertEquals(Optional.of(bill), found);
+    verify(repo).insert(eq("k1"), eq(7L), eq(IdempotencyKeyStore.fingerprint(request)), any(Instant.class));
+    verify(repo, never()).findById(any());
+  }
+
+  @Test
+  void find_fallsBackToTableAndCachesTheBill() {
+    var row = new IdempotencyKey("k1", 7L, IdempotencyKeyStore.fingerprint(request), Instant.now());
+    when(repo.findById("k1")).thenReturn(Optional.of(row));
+
+    assertEquals(Optional.of(bill), store.find("k1", request, id -> bill));
+    assertEquals(Optional.of(bill), store.find("k1", request, id -> fail("second lookup must hit memory")));
+    verify(repo, times(1)).findById("k1");
+  }
+
+  @Test
+  void find_unknownKey_isEmpty() {
+    when(repo.findById("k2")).thenReturn(Optional.empty());
+    assertTrue(store.find("k2", request, id -> bill).isEmpty());
+  }
+
+  @Test
+  void find_keyReusedForDifferentRequest_isRejected() {
+    store.record("k1", request, bill);
+    var other = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), List.of(new BillItemRequest(1001L, 3, null)));
+
+    assertThrows(BadRequestException.class, () -> store.find("k1", other, id -> bill));
+  }
+
+  @Test
+  void fingerprint_isSha256OfEveryField() {
+    var same = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), List.of(new BillItemRequest(1001L, 2, null)));
+    var pricedLine = new BillCreateRequest(1L, null, LocalDate.of(2025, 1, 1), List.of(new BillItemRequest(1001L, 2, 5.0)));
+    var shiftedNumber = new BillCreateRequest(1L, "2025-01-01", null, List.of(new BillItemRequest(1001L, 2, null)));
+
+    assertTrue(IdempotencyKeyStore.fingerprint(request).matches("[0-9a-f]{64}"));
+    assertEquals(IdempotencyKeyStore.fingerprint(request), IdempotencyKeyStore.fingerprint(same));
+    assertNotEquals(IdempotencyKeyStore.fingerprint(request), IdempotencyKeyStore.fingerprint(pricedLine));
+    assertNotEquals(IdempotencyKeyStore.fingerprint(request), IdempotencyKeyStore.fingerprint(shiftedNumber));
+  }
+
+  @Test
+  void find_rejectsBlankOrOversizedKeys() {
+    assertThrows(BadRequestException.class, () -> store.find(" ", request, id -> bill));
+    assertThrows(BadRequestException.class, () -> store.find("x".repeat(101), request, id -> bill));
+    verifyNoInteractions(repo);
+  }
+}
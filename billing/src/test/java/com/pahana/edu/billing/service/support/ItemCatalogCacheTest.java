@@ -0,0 +1,74 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.dto.item.ItemResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCatalogCacheTest {
+
+  private SimpleMeterRegistry registry;
+  private ItemCatalogCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    cache = new ItemCatalogCache(registry, 100, Duration.ofMinutes(5));
+  }
+
+  private List<ItemResponse> load() {
+    loads.incrementAndGet();
+    return List.of(new ItemResponse(1L, "Pen", "STATIONERY", 1.0, 10), new ItemResponse(2L, "Ink", "STATIONERY", 2.0, 5));
+  }
+
+  @Test
+  void list_isLoadedOnceAndCountedAsHitsAfterwards() {
+    cache.list(this::load);
+    cache.list(this::load);
+    cache.list(this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals(2.0, registry.counter("item.catalog.list", "result", "hit").count());
+    assertEquals(1.0, registry.counter("item.catalog.list", "result", "miss").count());
+  }
+
+  @Test
+  void billCreated_evictsSoldItemsAndTheSnapshot() {
+    cache.list(this::load);
+    long before = cache.version();
+    var line = new BillItemResponse(1L, 1L, "Pen", 2, 1.0, 2.0);
+    cache.onBillCreated(new BillCreatedEvent(new BillResponse(9L, "B9", 1L, "Alice", LocalDate.now(), 0.0, 2.0,
+        PaymentStatus.PENDING, List.of(line))));
+
+    assertTrue(cache.version() > before);
+    assertEquals(7, cache.get(1L, id -> new ItemResponse(id, "Pen", "STATIONERY", 1.0, 7)).stockQuantity());
+    assertEquals(5, cache.get(2L, id -> fail("item 2 was not sold")).stockQuantity());
+    cache.list(this::load);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void list_loadThatRacedWithAChangeIsReturnedButNotPublished() {
+    var stale = cache.list(() -> {
+      cache.invalidate(Set.of(1L)); // a write lands while the list is being read
+      return load();
+    });
+
+    assertEquals(2, stale.size());
+    cache.list(this::load);
+    assertEquals(2, loads.get());
+  }
+}
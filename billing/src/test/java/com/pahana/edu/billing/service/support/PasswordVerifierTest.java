@@ -0,0 +1,65 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordVerifierTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void matchingPassword_isRecordedByOutcome() {
+    var encoder = new BCryptPasswordEncoder(4);
+    var verifier = new PasswordVerifier(encoder, registry, 1, 4);
+    var hash = encoder.encode("admin123");
+
+    assertTrue(verifier.verify("admin123", hash).join().matches());
+    assertFalse(verifier.verify("wrong", hash).join().matches());
+
+    assertEquals(1, registry.get("auth.password.verify").tag("outcome", "match").timer().count());
+    assertEquals(1, registry.get("auth.password.verify").tag("outcome", "mismatch").timer().count());
+    verifier.destroy();
+  }
+
+  @Test
+  void hashBelowConfiguredCost_isReEncodedAtThatCost() {
+    var weak = new BCryptPasswordEncoder(4).encode("admin123");
+    var verifier = new PasswordVerifier(new BCryptPasswordEncoder(5), registry, 1, 4);
+
+    var check = verifier.verify("admin123", weak).join();
+
+    assertTrue(check.matches());
+    assertNotNull(check.upgradedHash());
+    assertTrue(check.upgradedHash().startsWith("$2a$05$"));
+    assertNull(verifier.verify("admin123", check.upgradedHash()).join().upgradedHash());
+    verifier.destroy();
+  }
+
+  @Test
+  void fullQueue_shedsLoginsImmediately() throws Exception {
+    var release = new CountDownLatch(1);
+    var encoder = mock(PasswordEncoder.class);
+    when(encoder.matches(anyString(), anyString())).thenAnswer(inv -> {
+      release.await();
+      return true;
+    });
+    var verifier = new PasswordVerifier(encoder, registry, 1, 1);
+
+    var running = verifier.verify("a", "hash");   // taken by the only worker
+    var queued = verifier.verify("b", "hash");    // fills the queue
+    assertThrows(ServiceBusyException.class, () -> verifier.verify("c", "hash"));
+
+    release.countDown();
+    assertTrue(running.join().matches());
+    assertTrue(queued.join().matches());
+    verifier.destroy();
+  }
+}
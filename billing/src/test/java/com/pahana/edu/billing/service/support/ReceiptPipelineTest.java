@@ -0,0 +1,82 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.enums.ReceiptFormat;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.repository.ReceiptRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReceiptPipelineTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ReceiptRepository receiptRepo = mock(ReceiptRepository.class);
+  private ReceiptPipeline pipeline;
+
+  private ReceiptPipeline pipeline(int threads, int queueCapacity) throws Exception {
+    pipeline = new ReceiptPipeline(receiptRepo, registry, new ClassPathResource("receipts/receipt.txt"),
+        "Pahana Edu Bookshop", threads, queueCapacity);
+    return pipeline;
+  }
+
+  @AfterEach
+  void tearDown() {
+    pipeline.destroy();
+  }
+
+  @Test
+  void renderAndStore_storesTextAndPdf() throws Exception {
+    var bill = ReceiptTemplateTest.sampleBill();
+
+    var rendered = pipeline(1, 4).renderAndStore(bill);
+
+    var text = new String(rendered.as(ReceiptFormat.TEXT), StandardCharsets.UTF_8);
+    assertTrue(text.contains("TOTAL                               462.00\n"));
+    var pdf = new String(rendered.as(ReceiptFormat.PDF), StandardCharsets.ISO_8859_1);
+    assertTrue(pdf.startsWith("%PDF-1.4\n"));
+    assertTrue(pdf.endsWith("%%EOF\n"));
+    assertTrue(pdf.contains("(Blue pen                2   45.00    90.00) Tj"));
+    int xref = Integer.parseInt(pdf.substring(pdf.indexOf("startxref\n") + 10, pdf.indexOf("\n%%EOF")));
+    assertTrue(pdf.startsWith("xref\n", xref), "startxref must point at the xref table");
+    verify(receiptRepo).insert(eq(1L), eq(rendered.text()), eq(rendered.pdf()), any());
+    assertEquals(1, registry.get("receipts.render").timer().count());
+  }
+
+  @Test
+  void receiptStoredConcurrently_isNotAnError() throws Exception {
+    doThrow(new DuplicateKeyException("receipts.PRIMARY")).when(receiptRepo).insert(anyLong(), any(), any(), any());
+
+    assertNotNull(pipeline(1, 4).renderAndStore(ReceiptTemplateTest.sampleBill()).text());
+  }
+
+  @Test
+  void fullQueue_dropsRendersInsteadOfBlockingCheckout() throws Exception {
+    var release = new CountDownLatch(1);
+    var stored = new CountDownLatch(2);
+    doAnswer(inv -> {
+      release.await();
+      stored.countDown();
+      return null;
+    }).when(receiptRepo).insert(anyLong(), any(), any(), any());
+    var event = new BillCreatedEvent(ReceiptTemplateTest.sampleBill());
+    pipeline(1, 1);
+
+    pipeline.onBillCreated(event);   // taken by the only worker
+    pipeline.onBillCreated(event);   // fills the queue
+    pipeline.onBillCreated(event);   // shed
+
+    assertEquals(1.0, registry.counter("receipts.dropped").count());
+    release.countDown();
+    assertTrue(stored.await(5, TimeUnit.SECONDS));
+    verify(receiptRepo, times(2)).insert(anyLong(), any(), any(), any());
+  }
+}
@@ -0,0 +1,61 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReceiptTemplateTest {
+
+  static BillResponse sampleBill() {
+    return new BillResponse(1L, "MAIN-20261018-000001", 7L, "Alice Perera", LocalDate.of(2026, 10, 18), 22.0, 462.0,
+        PaymentStatus.PENDING, List.of(
+            new BillItemResponse(1L, 10L, "Blue pen", 2, 45.0, 90.0),
+            new BillItemResponse(2L, 11L, "Exercise book 200 pages long", 1, 350.0, 350.0)));
+  }
+
+  @Test
+  void shippedTemplate_laysOutA42ColumnReceipt() throws Exception {
+    var source = new ClassPathResource("receipts/receipt.txt").getContentAsString(StandardCharsets.UTF_8);
+    var template = ReceiptTemplate.compile(source, "Pahana Edu Bookshop");
+
+    assertEquals(List.of(
+        "           Pahana Edu Bookshop",
+        "==========================================",
+        "Bill:     MAIN-20261018-000001",
+        "Date:     2026-10-18",
+        "Customer: Alice Perera",
+        "------------------------------------------",
+        "Item                  Qty   Price    Total",
+        "Blue pen                2   45.00    90.00",
+        "Exercise book 200 pa    1  350.00   350.00",
+        "------------------------------------------",
+        "Subtotal                            440.00",
+        "Tax                                  22.00",
+        "TOTAL                               462.00",
+        "==========================================",
+        "       Thank you for your purchase"), template.render(sampleBill()));
+  }
+
+  @Test
+  void itemBlock_repeatsEveryLinePerItem() {
+    var template = ReceiptTemplate.compile("{{billNumber}}\n{{#items}}\n{{itemName}}\n  x{{quantity}}\n{{/items}}\nend", "");
+
+    assertEquals(List.of("MAIN-20261018-000001", "Blue pen", "  x2", "Exercise book 200 pages long", "  x1", "end"),
+        template.render(sampleBill()));
+  }
+
+  @Test
+  void unknownOrMisplacedFields_failAtCompileTime() {
+    assertThrows(IllegalArgumentException.class, () -> ReceiptTemplate.compile("{{cashier}}", ""));
+    assertThrows(IllegalArgumentException.class, () -> ReceiptTemplate.compile("{{itemName}}", ""));
+    assertThrows(IllegalArgumentException.class, () -> ReceiptTemplate.compile("{{#items}}\n{{itemName}}", ""));
+  }
+}
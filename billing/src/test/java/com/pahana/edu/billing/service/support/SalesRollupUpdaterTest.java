@@ -0,0 +1,51 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.domain.event.BillPaidEvent;
+import com.pahana.edu.billing.repository.SalesRollupRepository;
+import com.pahana.edu.billing.repository.SalesRollupRepository.ItemDelta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupUpdaterTest {
+
+  @Mock private SalesRollupRepository rollups;
+  @InjectMocks private SalesRollupUpdater updater;
+
+  private final LocalDate day = LocalDate.of(2025, 1, 1);
+
+  @Test
+  void billCreated_addsBillWithLinesMergedPerItem() {
+    var bill = new BillResponse(1L, "B1", 7L, "Alice", day, 3.0, 33.0, PaymentStatus.PENDING, List.of(
+        new BillItemResponse(11L, 1001L, "Pen", 2, 5.0, 10.0),
+        new BillItemResponse(12L, 1002L, "Book", 1, 15.0, 15.0),
+        new BillItemResponse(13L, 1001L, "Pen", 1, 5.0, 5.0)));
+
+    updater.onBillCreated(new BillCreatedEvent(bill));
+
+    verify(rollups).addBill(day, PaymentStatus.PENDING, 33.0, 3.0,
+        Map.of(1001L, new ItemDelta(3, 15.0), 1002L, new ItemDelta(1, 15.0)));
+  }
+
+  @Test
+  void billPaid_movesAmountBetweenStatuses() {
+    var bill = new BillResponse(1L, "B1", 7L, "Alice", day, 3.0, 33.0, PaymentStatus.PAID, List.of());
+
+    updater.onBillPaid(new BillPaidEvent(bill, PaymentStatus.PENDING));
+
+    verify(rollups).moveStatus(PaymentStatus.PENDING, PaymentStatus.PAID, 33.0);
+  }
+}
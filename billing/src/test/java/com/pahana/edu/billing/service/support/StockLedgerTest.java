@@ -0,0 +1,155 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+  @Mock private ItemRepository itemRepo;
+
+  private StockLedger ledger;
+
+  @BeforeEach
+  void setUp() {
+    ledger = new StockLedger(itemRepo, true);
+  }
+
+  @Test
+  void reserve_shouldTakeAllOrNothing() {
+    assertEquals(Optional.empty(), ledger.reserve(Map.of(1L, 3, 2L, 1), id -> 5));
+    assertEquals(Optional.of(2L), ledger.reserve(Map.of(1L, 1, 2L, 5), id -> 5));
+
+    // the failed reservation must have released item 1 again
+    assertEquals(Optional.of(2), ledger.available(1L));
+    assertEquals(Optional.of(4), ledger.available(2L));
+  }
+
+  @Test
+  void reserve_shouldNeverOversellUnderContention() throws Exception {
+    int threads = 8;
+    var sold = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      pool.submit(() -> {
+        start.await();
+        for (int i = 0; i < 100; i++) {
+          if (ledger.reserve(Map.of(1L, 1), id -> 500).isEmpty()) sold.incrementAndGet();
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(500, sold.get());
+    assertEquals(Optional.of(0), ledger.available(1L));
+  }
+
+  @Test
+  void flush_shouldWriteNetDeltasInOneBatch() {
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of());
+    ledger.reserve(Map.of(1L, 2), id -> 10);
+    ledger.reserve(Map.of(1L, 3, 2L, 1), id -> 10);
+
+    ledger.flush();
+    ledger.flush(); // nothing pending the second time
+
+    verify(itemRepo, times(1)).decrementStock(Map.of(1L, 5, 2L, 1));
+  }
+
+  @Test
+  void flush_shouldWriteRejectedSalesUnguardedAndReseed() {
+    when(itemRepo.decrementStock(anyMap())).thenReturn(Set.of(1L));
+    ledger.reserve(Map.of(1L, 2), id -> 10);
+
+    ledger.flush();
+    ledger.flush(); // nothing pending the second time
+
+    verify(itemRepo).forceDecrementStock(Map.of(1L, 2));
+    verify(itemRepo, times(1)).decrementStock(anyMap());
+    assertEquals(Optional.empty(), ledger.available(1L));
+  }
+
+  @Test
+  void forget_shouldWriteCommittedSalesBeforeDroppingTheItem() {
+    ledger.reserve(Map.of(1L, 3), id -> 10);
+
+    ledger.forget(1L);
+
+    verify(itemRepo).decrementStock(Map.of(1L, 3));
+    assertEquals(Optional.empty(), ledger.available(1L));
+  }
+
+  @Test
+  void saleCommittingAfterForget_isStillFlushedAndHeldBackFromTheNewSlot() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      ledger.reserve(Map.of(1L, 4), id -> 10);
+      ledger.forget(1L);
+      verify(itemRepo, never()).decrementStock(anyMap());
+
+      // the row still reads 10 but 4 of it are sold to an open transaction
+      ledger.reserve(Map.of(1L, 1), id -> 10);
+      assertEquals(Optional.of(5), ledger.available(1L));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    ledger.flush();
+    verify(itemRepo).decrementStock(Map.of(1L, 5));
+  }
+
+  @Test
+  void rollbackAfterForget_writesNothing() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      ledger.reserve(Map.of(1L, 4), id -> 10);
+      ledger.forget(1L);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    ledger.flush();
+    ledger.reserve(Map.of(1L, 10), id -> 10); // nothing held back once the reservation is gone
+    verify(itemRepo, never()).decrementStock(anyMap());
+  }
+
+  @Test
+  void flush_shouldKeepDeltasWhenTheDatabaseIsUnavailable() {
+    when(itemRepo.decrementStock(anyMap()))
+        .thenThrow(new IllegalStateException("down"))
+        .thenReturn(Set.of());
+    ledger.reserve(Map.of(1L, 2), id -> 10);
+
+    ledger.flush();
+    ledger.flush();
+
+    verify(itemRepo, times(2)).decrementStock(Map.of(1L, 2));
+  }
+}
@@ -0,0 +1,113 @@
+package com.pahana.edu.billing.service.support;
+
+import com.pahana.edu.billing.domain.dto.bill.BillItemResponse;
+import com.pahana.edu.billing.domain.dto.bill.BillResponse;
+import com.pahana.edu.billing.domain.dto.report.TopItem;
+import com.pahana.edu.billing.domain.enums.PaymentStatus;
+import com.pahana.edu.billing.domain.event.BillCreatedEvent;
+import com.pahana.edu.billing.exception.BadRequestException;
+import com.pahana.edu.billing.repository.BillItemRepository.DailyItemQuantity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopItemsTrackerTest {
+
+  private final LocalDate today = LocalDate.of(2025, 3, 10);
+
+  private record Row(LocalDate billDate, Long itemId, String itemName, Long quantity) implements DailyItemQuantity {
+    public LocalDate getBillDate() { return billDate; }
+    public Long getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public Long getQuantity() { return quantity; }
+  }
+
+  private static List<Long> ids(List<TopItem> top) {
+    return top.stream().map(TopItem::itemId).toList();
+  }
+
+  @Test
+  void top_mergesOnlyTheRequestedDays() {
+    var tracker = new TopItemsTracker(7, 100);
+    tracker.offer(today, 1L, "Pen", 5, today);
+    tracker.offer(today, 2L, "Book", 2, today);
+    tracker.offer(today.minusDays(3), 2L, "Book", 10, today);
+
+    var todayOnly = tracker.top(today, 1, 10);
+    assertEquals(List.of(1L, 2L), ids(todayOnly));
+    assertEquals(5, todayOnly.get(0).quantitySold());
+    assertEquals(0, todayOnly.get(0).maxOverestimate());
+
+    var week = tracker.top(today, 7, 10);
+    assertEquals(List.of(2L, 1L), ids(week));
+    assertEquals(12, week.get(0).quantitySold());
+  }
+
+  @Test
+  void top_limitsAndRejectsWindowsLongerThanKept() {
+    var tracker = new TopItemsTracker(7, 100);
+    for (long id = 1; id <= 5; id++) tracker.offer(today, id, "Item " + id, id, today);
+
+    assertEquals(List.of(5L, 4L), ids(tracker.top(today, 1, 2)));
+    assertThrows(BadRequestException.class, () -> tracker.top(today, 8, 2));
+    assertThrows(BadRequestException.class, () -> tracker.top(today, 0, 2));
+  }
+
+  @Test
+  void dayFallingOutOfTheWindow_isDroppedAndItsSlotReused() {
+    var tracker = new TopItemsTracker(7, 100);
+    tracker.offer(today, 1L, "Pen", 4, today);
+
+    var nextWeek = today.plusDays(7);
+    tracker.offer(nextWeek, 2L, "Book", 1, nextWeek);
+    // back-dated beyond the window: ignored rather than mixed into a newer day
+    tracker.offer(today.minusDays(7), 3L, "Ink", 50, today);
+
+    assertEquals(List.of(2L), ids(tracker.top(nextWeek, 7, 10)));
+    // the slot now belongs to the newer day
+    assertTrue(tracker.top(today, 7, 10).isEmpty());
+  }
+
+  @Test
+  void fullSummary_keepsHeavyHittersAndBoundsTheError() {
+    var tracker = new TopItemsTracker(1, 3);
+    tracker.offer(today, 1L, "Pen", 100, today);
+    tracker.offer(today, 2L, "Book", 50, today);
+    for (long id = 10; id < 30; id++) tracker.offer(today, id, "Filler " + id, 1, today);
+
+    var top = tracker.top(today, 1, 3);
+    assertEquals(List.of(1L, 2L), ids(top).subList(0, 2));
+    for (var item : top) assertTrue(item.maxOverestimate() <= 20, "error bounded by the filler volume");
+    assertTrue(top.get(0).quantitySold() >= 100);
+    assertTrue(top.get(0).quantitySold() - top.get(0).maxOverestimate() <= 100);
+  }
+
+  @Test
+  void onBillCreated_countsUnitsPerLine() {
+    var tracker = new TopItemsTracker(7, 100);
+    var now = LocalDate.now();
+    var bill = new BillResponse(1L, "B1", 7L, "Alice", now, 0.0, 25.0, PaymentStatus.PENDING, List.of(
+        new BillItemResponse(11L, 1001L, "Pen", 2, 5.0, 10.0),
+        new BillItemResponse(12L, 1001L, "Pen", 3, 5.0, 15.0)));
+
+    tracker.onBillCreated(new BillCreatedEvent(bill));
+
+    var top = tracker.top(now, 1, 5);
+    assertEquals(1, top.size());
+    assertEquals(new TopItem(1001L, "Pen", 5, 0), top.get(0));
+  }
+
+  @Test
+  void rebuild_replacesExistingCounts() {
+    var tracker = new TopItemsTracker(7, 100);
+    tracker.offer(today, 9L, "Stale", 99, today);
+
+    tracker.rebuild(List.of(new Row(today, 1L, "Pen", 7L), new Row(today.minusDays(1), 2L, "Book", 3L)), today);
+
+    assertEquals(List.of(1L), ids(tracker.top(today, 1, 10)));
+    assertEquals(List.of(1L, 2L), ids(tracker.top(today, 2, 10)));
+  }
+}
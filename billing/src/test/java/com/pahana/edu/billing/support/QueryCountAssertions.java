@@ -0,0 +1,37 @@
+package com.pahana.edu.billing.support;
+
+import com.pahana.edu.billing.config.StatementCounter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails a test when a call issues more SQL statements than it is allowed.
+ *
+ * <p>Counts whatever {@code StatementCountingDataSource} sees on the calling thread, so it needs a full
+ * {@code @SpringBootTest} context with {@code app.metrics.sql.enabled=true}; MockMvc requests run on the test thread
+ * and are counted in full, including statements in nested transactions.
+ */
+public final class QueryCountAssertions {
+
+  @FunctionalInterface
+  public interface ThrowingRunnable {
+    void run() throws Throwable;
+  }
+
+  private QueryCountAssertions() {}
+
+  /** Runs {@code call} and returns how many statements it issued. */
+  public static long countQueries(ThrowingRunnable call) {
+    try (var scope = StatementCounter.open()) {
+      call.run();
+      return scope.statements();
+    } catch (Throwable ex) {
+      return fail("call failed while counting queries", ex);
+    }
+  }
+
+  public static void assertQueries(long max, ThrowingRunnable call) {
+    long issued = countQueries(call);
+    assertTrue(issued <= max, () -> "expected at most " + max + " SQL statements but " + issued + " were issued");
+  }
+}